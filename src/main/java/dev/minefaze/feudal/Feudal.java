@@ -4,7 +4,6 @@ import dev.minefaze.feudal.managers.*;
 import dev.minefaze.feudal.commands.FeudalCommand;
 import dev.minefaze.feudal.listeners.PlayerListener;
 import dev.minefaze.feudal.listeners.CombatListener;
-import dev.minefaze.feudal.listeners.PvPListener;
 import dev.minefaze.feudal.listeners.TerritoryListener;
 import dev.minefaze.feudal.gui.GUIManager;
 import dev.minefaze.feudal.gui.AnvilGUI;
@@ -21,6 +20,7 @@ public final class Feudal extends JavaPlugin {
     private PlayerDataManager playerDataManager;
     private ChallengeManager challengeManager;
     private CombatManager combatManager;
+    private DamagePipeline damagePipeline;
     private DataManager dataManager;
     private GUIManager guiManager;
     private AllianceManager allianceManager;
@@ -28,6 +28,9 @@ public final class Feudal extends JavaPlugin {
     private TownHallManager townHallManager;
     private SchematicManager schematicManager;
     private NexusManager nexusManager;
+    private BroadcastManager broadcastManager;
+    private ActivityTracker activityTracker;
+    private DeadlineScheduler deadlineScheduler;
     
     // GUI Managers
     private AnvilGUI anvilGUI;
@@ -53,7 +56,10 @@ public final class Feudal extends JavaPlugin {
         dataManager.initialize();
         
         // Initialize core managers
+        deadlineScheduler = new DeadlineScheduler(this);
         playerDataManager = new PlayerDataManager(this);
+        broadcastManager = new BroadcastManager(this);
+        activityTracker = new ActivityTracker(this);
         kingdomManager = new KingdomManager(this);
         allianceManager = new AllianceManager(this);
         territoryVisualizationManager = new TerritoryVisualizationManager(this);
@@ -62,6 +68,7 @@ public final class Feudal extends JavaPlugin {
         townHallManager = new TownHallManager(this);
         challengeManager = new ChallengeManager(this);
         combatManager = new CombatManager(this);
+        damagePipeline = new DamagePipeline(this);
         guiManager = new GUIManager(this);
         
         // Initialize GUI utilities
@@ -72,6 +79,7 @@ public final class Feudal extends JavaPlugin {
         getLogger().info(messageManager.getMessage("database.loading-data"));
         kingdomManager.loadKingdomData();
         nexusManager.loadNexusData();
+        townHallManager.scheduleUpgradeCompletions();
         
         // Register player data manager as listener to handle player join/quit events
         getServer().getPluginManager().registerEvents(playerDataManager, this);
@@ -87,7 +95,6 @@ public final class Feudal extends JavaPlugin {
         // Register event listeners
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
         getServer().getPluginManager().registerEvents(new CombatListener(this), this);
-        getServer().getPluginManager().registerEvents(new PvPListener(this), this);
         getServer().getPluginManager().registerEvents(new TerritoryListener(this), this);
         
         getLogger().info("Feudal RPG Plugin enabled successfully!");
@@ -97,6 +104,20 @@ public final class Feudal extends JavaPlugin {
     public void onDisable() {
         getLogger().info("Shutting down Feudal RPG Plugin...");
         
+        // Fold pending activity into player data before it is saved
+        if (activityTracker != null) {
+            activityTracker.shutdown();
+        }
+        
+        // Save offline players that changed while cached
+        if (playerDataManager != null) {
+            playerDataManager.shutdown();
+        }
+        
+        if (damagePipeline != null) {
+            damagePipeline.logStatistics();
+        }
+        
         // Save all data before shutdown
         if (dataManager != null) {
             dataManager.saveAll();
@@ -118,6 +139,11 @@ public final class Feudal extends JavaPlugin {
             townHallManager.shutdown();
         }
         
+        // Stop the shared scheduler after every subsystem has cancelled its timers
+        if (deadlineScheduler != null) {
+            deadlineScheduler.shutdown();
+        }
+        
         // Shutdown GUI utilities
         if (anvilGUI != null) {
             anvilGUI.shutdown();
@@ -186,6 +212,7 @@ public final class Feudal extends JavaPlugin {
     public PlayerDataManager getPlayerDataManager() { return playerDataManager; }
     public ChallengeManager getChallengeManager() { return challengeManager; }
     public CombatManager getCombatManager() { return combatManager; }
+    public DamagePipeline getDamagePipeline() { return damagePipeline; }
     public DataManager getDataManager() { return dataManager; }
     public GUIManager getGUIManager() { return guiManager; }
     public AllianceManager getAllianceManager() { return allianceManager; }
@@ -193,6 +220,9 @@ public final class Feudal extends JavaPlugin {
     public TownHallManager getTownHallManager() { return townHallManager; }
     public SchematicManager getSchematicManager() { return schematicManager; }
     public NexusManager getNexusManager() { return nexusManager; }
+    public BroadcastManager getBroadcastManager() { return broadcastManager; }
+    public ActivityTracker getActivityTracker() { return activityTracker; }
+    public DeadlineScheduler getDeadlineScheduler() { return deadlineScheduler; }
     
     // GUI Getters
     public AnvilGUI getAnvilGUI() { return anvilGUI; }
@@ -18,7 +18,14 @@ public class DatabaseFactory {
             }
             case "sqlite" -> {
                 String filename = config.getString("database.sqlite.filename", "feudal.db");
-                return new SqliteDatabaseProvider(plugin, filename);
+                boolean walMode = config.getBoolean("database.sqlite.wal-mode", true);
+                String synchronous = config.getString("database.sqlite.synchronous", "NORMAL");
+                long mmapSize = config.getLong("database.sqlite.mmap-size", 268435456L);
+                int writeQueueSize = config.getInt("database.sqlite.write-queue-size", 10000);
+                
+                int batchSize = config.getInt("performance.batch-size", 100);
+                
+                return new SqliteDatabaseProvider(plugin, filename, walMode, synchronous, mmapSize, writeQueueSize, batchSize);
             }
             case "mysql" -> {
                 String host = config.getString("database.mysql.host", "localhost");
@@ -28,8 +35,10 @@ public class DatabaseFactory {
                 String password = config.getString("database.mysql.password", "password");
                 int maxConnections = config.getInt("database.mysql.max-connections", 10);
                 int connectionTimeout = config.getInt("database.mysql.connection-timeout", 30000);
+                int batchSize = config.getInt("performance.batch-size", 100);
                 
-                return new MySqlDatabaseProvider(plugin, host, port, database, username, password, maxConnections, connectionTimeout);
+                return new MySqlDatabaseProvider(plugin, host, port, database, username, password, maxConnections, connectionTimeout,
+                        batchSize);
             }
             default -> {
                 plugin.getLogger().warning("Unknown database type: " + type + ". Falling back to YAML.");
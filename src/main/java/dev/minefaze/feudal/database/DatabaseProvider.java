@@ -2,6 +2,7 @@ package dev.minefaze.feudal.database;
 
 import dev.minefaze.feudal.models.*;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 
@@ -61,6 +62,59 @@ public interface DatabaseProvider {
     void saveNexusData(Nexus nexus, UUID kingdomId);
     Nexus loadNexusData(UUID kingdomId);
     
+    /**
+     * Load every kingdom with its members, town hall, nexus and territories for startup.
+     * The default loads each piece separately; SQL providers use one query per table.
+     */
+    default KingdomDataSet loadAllKingdomData() {
+        KingdomDataSet data = new KingdomDataSet();
+        
+        long start = System.nanoTime();
+        data.getKingdoms().putAll(loadAllKingdoms());
+        data.recordStage("kingdoms", start);
+        
+        start = System.nanoTime();
+        for (UUID kingdomId : data.getKingdoms().keySet()) {
+            TownHall townHall = loadTownHallData(kingdomId);
+            if (townHall != null) {
+                data.getTownHalls().put(kingdomId, townHall);
+            }
+        }
+        data.recordStage("town halls", start);
+        
+        start = System.nanoTime();
+        for (UUID kingdomId : data.getKingdoms().keySet()) {
+            Nexus nexus = loadNexusData(kingdomId);
+            if (nexus != null) {
+                data.getNexuses().put(kingdomId, nexus);
+            }
+        }
+        data.recordStage("nexus", start);
+        
+        start = System.nanoTime();
+        data.getTerritories().putAll(loadAllTerritories());
+        data.recordStage("territories", start);
+        
+        return data;
+    }
+    
+    // Batched Write Methods - providers that can group rows into fewer round-trips override these
+    default void savePlayerDataBatch(Collection<FeudalPlayer> players) {
+        players.forEach(this::savePlayerData);
+    }
+    
+    default void saveTerritoryDataBatch(Collection<Territory> territories) {
+        territories.forEach(this::saveTerritoryData);
+    }
+    
+    default void saveTownHallDataBatch(Collection<TownHall> townHalls) {
+        townHalls.forEach(townHall -> saveTownHallData(townHall, townHall.getKingdomId()));
+    }
+    
+    default void saveNexusDataBatch(Collection<Nexus> nexuses) {
+        nexuses.forEach(nexus -> saveNexusData(nexus, nexus.getKingdomId()));
+    }
+    
     /**
      * Save all data (used for periodic saves and shutdown)
      */
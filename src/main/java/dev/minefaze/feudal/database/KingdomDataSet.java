@@ -0,0 +1,54 @@
+package dev.minefaze.feudal.database;
+
+import dev.minefaze.feudal.models.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Kingdoms with their members, town halls, nexus and territories, loaded together at startup
+ */
+public class KingdomDataSet {
+    
+    private final Map<UUID, Kingdom> kingdoms;
+    private final Map<UUID, TownHall> townHalls;
+    private final Map<UUID, Nexus> nexuses;
+    private final Map<UUID, Territory> territories;
+    private final Map<String, Long> stageTimings;
+    
+    public KingdomDataSet() {
+        this.kingdoms = new HashMap<>();
+        this.townHalls = new HashMap<>();
+        this.nexuses = new HashMap<>();
+        this.territories = new HashMap<>();
+        this.stageTimings = new LinkedHashMap<>();
+    }
+    
+    // Kingdoms by kingdom id
+    public Map<UUID, Kingdom> getKingdoms() { return kingdoms; }
+    
+    // Town halls and nexus by owning kingdom id
+    public Map<UUID, TownHall> getTownHalls() { return townHalls; }
+    public Map<UUID, Nexus> getNexuses() { return nexuses; }
+    
+    // Territories by territory id
+    public Map<UUID, Territory> getTerritories() { return territories; }
+    
+    /**
+     * Record how long a load stage took, measured from a System.nanoTime() start
+     */
+    public void recordStage(String stage, long startNanos) {
+        stageTimings.put(stage, (System.nanoTime() - startNanos) / 1_000_000L);
+    }
+    
+    public Map<String, Long> getStageTimings() { return stageTimings; }
+    
+    public String formatStageTimings() {
+        StringJoiner joiner = new StringJoiner(", ");
+        stageTimings.forEach((stage, millis) -> joiner.add(stage + " " + millis + "ms"));
+        return joiner.toString();
+    }
+}
@@ -4,21 +4,105 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.models.*;
-import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * MySQL database provider with connection pooling
  */
 public class MySqlDatabaseProvider implements DatabaseProvider {
     
+    // One column per profession in enum order, named like the YAML keys, e.g. warrior_experience
+    private static final List<String> EXPERIENCE_COLUMNS = Arrays.stream(Profession.values())
+            .map(profession -> profession.name().toLowerCase(Locale.ROOT) + "_experience")
+            .toList();
+    // One column per activity stat in enum order, e.g. blocks_mined
+    private static final List<String> STAT_COLUMNS = Arrays.stream(PlayerStat.values())
+            .map(stat -> stat.name().toLowerCase(Locale.ROOT))
+            .toList();
+    private static final List<String> ADDED_PLAYER_COLUMNS = Stream.concat(EXPERIENCE_COLUMNS.stream(), STAT_COLUMNS.stream())
+            .toList();
+    
+    private static final String UPSERT_PLAYER_SQL = """
+        INSERT INTO players 
+        (player_id, player_name, kingdom_id, total_experience, in_combat,
+         warrior_level, miner_level, builder_level, farmer_level,
+         strength, defense, agility, endurance, intelligence, %s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?%s)
+        ON DUPLICATE KEY UPDATE
+        player_name = VALUES(player_name),
+        kingdom_id = VALUES(kingdom_id),
+        total_experience = VALUES(total_experience),
+        in_combat = VALUES(in_combat),
+        warrior_level = VALUES(warrior_level),
+        miner_level = VALUES(miner_level),
+        builder_level = VALUES(builder_level),
+        farmer_level = VALUES(farmer_level),
+        strength = VALUES(strength),
+        defense = VALUES(defense),
+        agility = VALUES(agility),
+        endurance = VALUES(endurance),
+        intelligence = VALUES(intelligence)%s
+    """.formatted(String.join(", ", ADDED_PLAYER_COLUMNS), ", ?".repeat(ADDED_PLAYER_COLUMNS.size()),
+            ADDED_PLAYER_COLUMNS.stream().map(column -> ",\n" + column + " = VALUES(" + column + ")").collect(Collectors.joining()));
+    private static final String UPSERT_TERRITORY_SQL = """
+        INSERT INTO territories 
+        (territory_id, kingdom_id, type, defense_level, claim_time, under_attack,
+         chunk_world, chunk_x, chunk_z)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+        kingdom_id = VALUES(kingdom_id),
+        type = VALUES(type),
+        defense_level = VALUES(defense_level),
+        under_attack = VALUES(under_attack)
+    """;
+    private static final String UPSERT_TOWN_HALL_SQL = """
+        INSERT INTO town_halls 
+        (kingdom_id, level, type, upgrading, upgrade_start_time,
+         location_world, location_x, location_y, location_z)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+        level = VALUES(level),
+        type = VALUES(type),
+        upgrading = VALUES(upgrading),
+        upgrade_start_time = VALUES(upgrade_start_time),
+        location_world = VALUES(location_world),
+        location_x = VALUES(location_x),
+        location_y = VALUES(location_y),
+        location_z = VALUES(location_z)
+    """;
+    private static final String UPSERT_NEXUS_SQL = """
+        INSERT INTO nexus 
+        (kingdom_id, current_health, max_health, shield_points, armor, 
+         magic_resistance, regeneration_rate, last_damage_time, regenerating)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+        current_health = VALUES(current_health),
+        max_health = VALUES(max_health),
+        shield_points = VALUES(shield_points),
+        armor = VALUES(armor),
+        magic_resistance = VALUES(magic_resistance),
+        regeneration_rate = VALUES(regeneration_rate),
+        last_damage_time = VALUES(last_damage_time),
+        regenerating = VALUES(regenerating)
+    """;
+    
     private final Feudal plugin;
     private final String host;
     private final int port;
@@ -27,11 +111,13 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
     private final String password;
     private final int maxConnections;
     private final int connectionTimeout;
+    private final int batchSize;
     
     private HikariDataSource dataSource;
     
     public MySqlDatabaseProvider(Feudal plugin, String host, int port, String database, 
-                                String username, String password, int maxConnections, int connectionTimeout) {
+                                String username, String password, int maxConnections, int connectionTimeout,
+                                int batchSize) {
         this.plugin = plugin;
         this.host = host;
         this.port = port;
@@ -40,6 +126,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
         this.password = password;
         this.maxConnections = maxConnections;
         this.connectionTimeout = connectionTimeout;
+        this.batchSize = Math.max(1, batchSize);
     }
     
     @Override
@@ -55,6 +142,8 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             config.addDataSourceProperty("cachePrepStmts", "true");
             config.addDataSourceProperty("prepStmtCacheSize", "250");
             config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            // Lets the driver send JDBC batches as multi-row INSERT ... ON DUPLICATE KEY UPDATE
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
             
             dataSource = new HikariDataSource(config);
             createTables();
@@ -65,6 +154,24 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
         }
     }
     
+    /**
+     * Add player columns introduced after the table was first created; existing rows take the default
+     */
+    private void addMissingPlayerColumns(Connection conn) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "players", null)) {
+            while (rs.next()) {
+                existing.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        
+        for (String column : ADDED_PLAYER_COLUMNS) {
+            if (!existing.contains(column)) {
+                conn.createStatement().execute("ALTER TABLE players ADD COLUMN " + column + " INT DEFAULT 0");
+            }
+        }
+    }
+    
     private void createTables() throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
             // Players table
@@ -87,6 +194,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
                     INDEX idx_kingdom (kingdom_id)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
             """);
+            addMissingPlayerColumns(conn);
             
             // Kingdoms table
             conn.createStatement().execute("""
@@ -224,52 +332,47 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
     // Player Data Methods
     @Override
     public void savePlayerData(FeudalPlayer player) {
-        String sql = """
-            INSERT INTO players 
-            (player_id, player_name, kingdom_id, total_experience, in_combat,
-             warrior_level, miner_level, builder_level, farmer_level,
-             strength, defense, agility, endurance, intelligence)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-            player_name = VALUES(player_name),
-            kingdom_id = VALUES(kingdom_id),
-            total_experience = VALUES(total_experience),
-            in_combat = VALUES(in_combat),
-            warrior_level = VALUES(warrior_level),
-            miner_level = VALUES(miner_level),
-            builder_level = VALUES(builder_level),
-            farmer_level = VALUES(farmer_level),
-            strength = VALUES(strength),
-            defense = VALUES(defense),
-            agility = VALUES(agility),
-            endurance = VALUES(endurance),
-            intelligence = VALUES(intelligence)
-        """;
-        
+        long version = player.getVersion();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, player.getPlayerId().toString());
-            stmt.setString(2, player.getPlayerName());
-            stmt.setString(3, player.getKingdom() != null ? player.getKingdom().getKingdomId().toString() : null);
-            stmt.setInt(4, player.getTotalExperience());
-            stmt.setBoolean(5, player.isInCombat());
-            stmt.setInt(6, player.getProfessionLevel(Profession.WARRIOR));
-            stmt.setInt(7, player.getProfessionLevel(Profession.MINER));
-            stmt.setInt(8, player.getProfessionLevel(Profession.BUILDER));
-            stmt.setInt(9, player.getProfessionLevel(Profession.FARMER));
-            stmt.setInt(10, player.getAttribute(Attribute.STRENGTH));
-            stmt.setInt(11, player.getAttribute(Attribute.DEFENSE));
-            stmt.setInt(12, player.getAttribute(Attribute.AGILITY));
-            stmt.setInt(13, player.getAttribute(Attribute.ENDURANCE));
-            stmt.setInt(14, player.getAttribute(Attribute.INTELLIGENCE));
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_PLAYER_SQL)) {
             
+            bindPlayer(stmt, player);
             stmt.executeUpdate();
+            player.markSaved(version);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + player.getPlayerName(), e);
         }
     }
     
+    @Override
+    public void savePlayerDataBatch(Collection<FeudalPlayer> players) {
+        saveBatch("players", UPSERT_PLAYER_SQL, players, this::bindPlayer);
+    }
+    
+    private void bindPlayer(PreparedStatement stmt, FeudalPlayer player) throws SQLException {
+        stmt.setString(1, player.getPlayerId().toString());
+        stmt.setString(2, player.getPlayerName());
+        stmt.setString(3, player.getKingdomId() != null ? player.getKingdomId().toString() : null);
+        stmt.setInt(4, player.getTotalExperience());
+        stmt.setBoolean(5, player.isInCombat());
+        stmt.setInt(6, player.getProfessionLevel(Profession.WARRIOR));
+        stmt.setInt(7, player.getProfessionLevel(Profession.MINER));
+        stmt.setInt(8, player.getProfessionLevel(Profession.BUILDER));
+        stmt.setInt(9, player.getProfessionLevel(Profession.FARMER));
+        stmt.setInt(10, player.getAttribute(Attribute.STRENGTH));
+        stmt.setInt(11, player.getAttribute(Attribute.DEFENSE));
+        stmt.setInt(12, player.getAttribute(Attribute.AGILITY));
+        stmt.setInt(13, player.getAttribute(Attribute.ENDURANCE));
+        stmt.setInt(14, player.getAttribute(Attribute.INTELLIGENCE));
+        int index = 15;
+        for (Profession profession : Profession.values()) {
+            stmt.setInt(index++, player.getProfessionExperience(profession));
+        }
+        for (PlayerStat stat : PlayerStat.values()) {
+            stmt.setInt(index++, player.getStat(stat));
+        }
+    }
+    
     @Override
     public FeudalPlayer loadPlayerData(UUID playerId) {
         String sql = "SELECT * FROM players WHERE player_id = ?";
@@ -300,22 +403,21 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
                 player.setAttribute(Attribute.ENDURANCE, rs.getInt("endurance"));
                 player.setAttribute(Attribute.INTELLIGENCE, rs.getInt("intelligence"));
                 
-                // Restore kingdom reference if exists
+                // Load profession experience
+                for (Profession profession : Profession.values()) {
+                    player.setProfessionExperience(profession, rs.getInt(EXPERIENCE_COLUMNS.get(profession.ordinal())));
+                }
+                
+                // Load activity stats
+                for (PlayerStat stat : PlayerStat.values()) {
+                    player.setStat(stat, rs.getInt(STAT_COLUMNS.get(stat.ordinal())));
+                }
+                
+                // Keep only the kingdom id; loads may run off the main thread, so the Kingdom is attached on join
                 String kingdomIdStr = rs.getString("kingdom_id");
                 if (kingdomIdStr != null && !kingdomIdStr.isEmpty()) {
                     try {
-                        UUID kingdomId = UUID.fromString(kingdomIdStr);
-                        Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
-                        if (kingdom != null) {
-                            player.setKingdom(kingdom);
-                            // Ensure the player is in the kingdom's member list
-                            if (!kingdom.getMembers().contains(playerId)) {
-                                kingdom.addMember(playerId);
-                                plugin.getLogger().info("Re-added player " + playerId + " to kingdom " + kingdom.getName());
-                            }
-                        } else {
-                            plugin.getLogger().warning("Kingdom " + kingdomId + " not found for player " + playerId);
-                        }
+                        player.setKingdomId(UUID.fromString(kingdomIdStr));
                     } catch (IllegalArgumentException e) {
                         plugin.getLogger().warning("Invalid kingdom ID for player " + playerId + ": " + kingdomIdStr);
                     }
@@ -349,6 +451,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             settings = VALUES(settings)
         """;
         
+        long version = kingdom.getVersion();
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
@@ -378,7 +481,8 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             
             // Save kingdom members
             saveKingdomMembers(kingdom, conn);
-            
+            kingdom.markSaved(version);
+        
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save kingdom data for " + kingdom.getName(), e);
         }
@@ -415,24 +519,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                String name = rs.getString("name");
-                UUID leader = UUID.fromString(rs.getString("leader"));
-                
-                // Load capital location
-                Location capital = null;
-                String worldName = rs.getString("capital_world");
-                if (worldName != null) {
-                    World world = plugin.getServer().getWorld(worldName);
-                    if (world != null) {
-                        double x = rs.getDouble("capital_x");
-                        double y = rs.getDouble("capital_y");
-                        double z = rs.getDouble("capital_z");
-                        capital = new Location(world, x, y, z);
-                    }
-                }
-                
-                Kingdom kingdom = new Kingdom(kingdomId, name, leader, capital);
-                kingdom.setTreasury(rs.getInt("treasury"));
+                Kingdom kingdom = kingdomFromRow(rs);
                 
                 // Load members
                 loadKingdomMembers(kingdom, conn);
@@ -446,6 +533,29 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private Kingdom kingdomFromRow(ResultSet rs) throws SQLException {
+        UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
+        String name = rs.getString("name");
+        UUID leader = UUID.fromString(rs.getString("leader"));
+        
+        // Load capital location
+        Location capital = null;
+        String worldName = rs.getString("capital_world");
+        if (worldName != null) {
+            World world = plugin.getServer().getWorld(worldName);
+            if (world != null) {
+                double x = rs.getDouble("capital_x");
+                double y = rs.getDouble("capital_y");
+                double z = rs.getDouble("capital_z");
+                capital = new Location(world, x, y, z);
+            }
+        }
+        
+        Kingdom kingdom = new Kingdom(kingdomId, name, leader, capital);
+        kingdom.setTreasury(rs.getInt("treasury"));
+        return kingdom;
+    }
+    
     private void loadKingdomMembers(Kingdom kingdom, Connection conn) throws SQLException {
         String sql = "SELECT player_id FROM kingdom_members WHERE kingdom_id = ?";
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -464,25 +574,89 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
     @Override
     public Map<UUID, Kingdom> loadAllKingdoms() {
         Map<UUID, Kingdom> kingdoms = new HashMap<>();
-        String sql = "SELECT kingdom_id FROM kingdoms";
         
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (Connection conn = dataSource.getConnection()) {
+            loadKingdomRows(kingdoms, conn);
+            loadAllKingdomMembers(kingdoms, conn);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load all kingdoms", e);
+        }
+        
+        return kingdoms;
+    }
+    
+    private void loadKingdomRows(Map<UUID, Kingdom> kingdoms, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM kingdoms")) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Kingdom kingdom = kingdomFromRow(rs);
+                kingdoms.put(kingdom.getKingdomId(), kingdom);
+            }
+        }
+    }
+    
+    private void loadAllKingdomMembers(Map<UUID, Kingdom> kingdoms, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT kingdom_id, player_id FROM kingdom_members")) {
             ResultSet rs = stmt.executeQuery();
-            
             while (rs.next()) {
-                UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
-                Kingdom kingdom = loadKingdomData(kingdomId);
-                if (kingdom != null) {
-                    kingdoms.put(kingdomId, kingdom);
+                Kingdom kingdom = kingdoms.get(UUID.fromString(rs.getString("kingdom_id")));
+                UUID memberId = UUID.fromString(rs.getString("player_id"));
+                if (kingdom != null && !memberId.equals(kingdom.getLeader())) {
+                    kingdom.addMember(memberId);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public KingdomDataSet loadAllKingdomData() {
+        KingdomDataSet data = new KingdomDataSet();
+        
+        try (Connection conn = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            loadKingdomRows(data.getKingdoms(), conn);
+            data.recordStage("kingdoms", start);
+            
+            start = System.nanoTime();
+            loadAllKingdomMembers(data.getKingdoms(), conn);
+            data.recordStage("members", start);
+            
+            start = System.nanoTime();
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM town_halls")) {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    TownHall townHall = townHallFromRow(rs);
+                    data.getTownHalls().put(townHall.getKingdomId(), townHall);
+                }
+            }
+            data.recordStage("town halls", start);
+            
+            start = System.nanoTime();
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM nexus")) {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    Nexus nexus = nexusFromRow(rs);
+                    data.getNexuses().put(nexus.getKingdomId(), nexus);
                 }
             }
+            data.recordStage("nexus", start);
+            
+            start = System.nanoTime();
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM territories")) {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    Territory territory = createTerritoryFromResultSet(rs);
+                    if (territory != null) {
+                        data.getTerritories().put(territory.getTerritoryId(), territory);
+                    }
+                }
+            }
+            data.recordStage("territories", start);
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to load all kingdoms", e);
+            plugin.getLogger().log(Level.SEVERE, "Failed to load kingdom data", e);
         }
         
-        return kingdoms;
+        return data;
     }
     
     @Override
@@ -502,37 +676,35 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
     // Simplified implementations for other methods (similar to SQLite but with connection pooling)
     @Override
     public void saveTerritoryData(Territory territory) {
-        String sql = """
-            INSERT INTO territories 
-            (territory_id, kingdom_id, type, defense_level, claim_time, under_attack,
-             chunk_world, chunk_x, chunk_z)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-            kingdom_id = VALUES(kingdom_id),
-            type = VALUES(type),
-            defense_level = VALUES(defense_level),
-            under_attack = VALUES(under_attack)
-        """;
-        
+        long version = territory.getVersion();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, territory.getTerritoryId().toString());
-            stmt.setString(2, territory.getKingdomId().toString());
-            stmt.setString(3, territory.getType().name());
-            stmt.setInt(4, territory.getDefenseLevel());
-            stmt.setLong(5, territory.getClaimTime());
-            stmt.setBoolean(6, territory.isUnderAttack());
-            stmt.setString(7, territory.getChunk().getWorld().getName());
-            stmt.setInt(8, territory.getChunk().getX());
-            stmt.setInt(9, territory.getChunk().getZ());
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_TERRITORY_SQL)) {
             
+            bindTerritory(stmt, territory);
             stmt.executeUpdate();
+            territory.markSaved(version);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save territory data", e);
         }
     }
     
+    @Override
+    public void saveTerritoryDataBatch(Collection<Territory> territories) {
+        saveBatch("territories", UPSERT_TERRITORY_SQL, territories, this::bindTerritory);
+    }
+    
+    private void bindTerritory(PreparedStatement stmt, Territory territory) throws SQLException {
+        stmt.setString(1, territory.getTerritoryId().toString());
+        stmt.setString(2, territory.getKingdomId().toString());
+        stmt.setString(3, territory.getType().name());
+        stmt.setInt(4, territory.getDefenseLevel());
+        stmt.setLong(5, territory.getClaimTime());
+        stmt.setBoolean(6, territory.isUnderAttack());
+        stmt.setString(7, territory.getWorldName());
+        stmt.setInt(8, territory.getChunkX());
+        stmt.setInt(9, territory.getChunkZ());
+    }
+    
     @Override
     public Territory loadTerritoryData(UUID territoryId) {
         String sql = "SELECT * FROM territories WHERE territory_id = ?";
@@ -589,10 +761,10 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             return null;
         }
         
-        Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+        ChunkKey chunkKey = ChunkKey.of(world, chunkX, chunkZ);
         TerritoryType type = TerritoryType.valueOf(rs.getString("type"));
         
-        Territory territory = new Territory(territoryId, kingdomId, chunk, type);
+        Territory territory = new Territory(territoryId, kingdomId, chunkKey, type);
         territory.setDefenseLevel(rs.getInt("defense_level"));
         territory.setClaimTime(rs.getLong("claim_time"));
         territory.setUnderAttack(rs.getBoolean("under_attack"));
@@ -656,50 +828,45 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
     
     @Override
     public void saveTownHallData(TownHall townHall, UUID kingdomId) {
-        String sql = """
-            INSERT INTO town_halls 
-            (kingdom_id, level, type, upgrading, upgrade_start_time,
-             location_world, location_x, location_y, location_z)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-            level = VALUES(level),
-            type = VALUES(type),
-            upgrading = VALUES(upgrading),
-            upgrade_start_time = VALUES(upgrade_start_time),
-            location_world = VALUES(location_world),
-            location_x = VALUES(location_x),
-            location_y = VALUES(location_y),
-            location_z = VALUES(location_z)
-        """;
-        
+        long version = townHall.getVersion();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, kingdomId.toString());
-            stmt.setInt(2, townHall.getLevel());
-            stmt.setString(3, townHall.getType().name());
-            stmt.setBoolean(4, townHall.isUpgrading());
-            stmt.setLong(5, townHall.getUpgradeStartTime());
-            
-            if (townHall.getLocation() != null) {
-                Location loc = townHall.getLocation();
-                stmt.setString(6, loc.getWorld().getName());
-                stmt.setDouble(7, loc.getX());
-                stmt.setDouble(8, loc.getY());
-                stmt.setDouble(9, loc.getZ());
-            } else {
-                stmt.setNull(6, Types.VARCHAR);
-                stmt.setNull(7, Types.DOUBLE);
-                stmt.setNull(8, Types.DOUBLE);
-                stmt.setNull(9, Types.DOUBLE);
-            }
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_TOWN_HALL_SQL)) {
             
+            bindTownHall(stmt, townHall, kingdomId);
             stmt.executeUpdate();
+            townHall.markSaved(version);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save town hall data", e);
         }
     }
     
+    @Override
+    public void saveTownHallDataBatch(Collection<TownHall> townHalls) {
+        saveBatch("town halls", UPSERT_TOWN_HALL_SQL, townHalls,
+                (stmt, townHall) -> bindTownHall(stmt, townHall, townHall.getKingdomId()));
+    }
+    
+    private void bindTownHall(PreparedStatement stmt, TownHall townHall, UUID kingdomId) throws SQLException {
+        stmt.setString(1, kingdomId.toString());
+        stmt.setInt(2, townHall.getLevel());
+        stmt.setString(3, townHall.getType().name());
+        stmt.setBoolean(4, townHall.isUpgrading());
+        stmt.setLong(5, townHall.getUpgradeStartTime());
+        
+        if (townHall.getLocation() != null) {
+            Location loc = townHall.getLocation();
+            stmt.setString(6, loc.getWorld().getName());
+            stmt.setDouble(7, loc.getX());
+            stmt.setDouble(8, loc.getY());
+            stmt.setDouble(9, loc.getZ());
+        } else {
+            stmt.setNull(6, Types.VARCHAR);
+            stmt.setNull(7, Types.DOUBLE);
+            stmt.setNull(8, Types.DOUBLE);
+            stmt.setNull(9, Types.DOUBLE);
+        }
+    }
+    
     @Override
     public TownHall loadTownHallData(UUID kingdomId) {
         String sql = "SELECT * FROM town_halls WHERE kingdom_id = ?";
@@ -711,29 +878,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                // Load location
-                Location location = null;
-                String worldName = rs.getString("location_world");
-                if (worldName != null) {
-                    World world = plugin.getServer().getWorld(worldName);
-                    if (world != null) {
-                        double x = rs.getDouble("location_x");
-                        double y = rs.getDouble("location_y");
-                        double z = rs.getDouble("location_z");
-                        location = new Location(world, x, y, z);
-                    }
-                }
-                
-                // Create town hall
-                TownHall.TownHallType type = TownHall.TownHallType.valueOf(rs.getString("type"));
-                TownHall townHall = new TownHall(kingdomId, location, type);
-                
-                // Set properties
-                townHall.setLevel(rs.getInt("level"));
-                townHall.setUpgrading(rs.getBoolean("upgrading"));
-                townHall.setUpgradeStartTime(rs.getLong("upgrade_start_time"));
-                
-                return townHall;
+                return townHallFromRow(rs);
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load town hall data for kingdom " + kingdomId, e);
@@ -742,43 +887,64 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private TownHall townHallFromRow(ResultSet rs) throws SQLException {
+        UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
+        
+        // Load location
+        Location location = null;
+        String worldName = rs.getString("location_world");
+        if (worldName != null) {
+            World world = plugin.getServer().getWorld(worldName);
+            if (world != null) {
+                double x = rs.getDouble("location_x");
+                double y = rs.getDouble("location_y");
+                double z = rs.getDouble("location_z");
+                location = new Location(world, x, y, z);
+            }
+        }
+        
+        // Create town hall
+        TownHall.TownHallType type = TownHall.TownHallType.valueOf(rs.getString("type"));
+        TownHall townHall = new TownHall(kingdomId, location, type);
+        
+        // Set properties
+        townHall.setLevel(rs.getInt("level"));
+        townHall.setUpgrading(rs.getBoolean("upgrading"));
+        townHall.setUpgradeStartTime(rs.getLong("upgrade_start_time"));
+        return townHall;
+    }
+    
     @Override
     public void saveNexusData(Nexus nexus, UUID kingdomId) {
-        String sql = """
-            INSERT INTO nexus 
-            (kingdom_id, current_health, max_health, shield_points, armor, 
-             magic_resistance, regeneration_rate, last_damage_time, regenerating)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-            current_health = VALUES(current_health),
-            max_health = VALUES(max_health),
-            shield_points = VALUES(shield_points),
-            armor = VALUES(armor),
-            magic_resistance = VALUES(magic_resistance),
-            regeneration_rate = VALUES(regeneration_rate),
-            last_damage_time = VALUES(last_damage_time),
-            regenerating = VALUES(regenerating)
-        """;
-        
+        long version = nexus.getVersion();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, kingdomId.toString());
-            stmt.setInt(2, nexus.getCurrentHealth());
-            stmt.setInt(3, nexus.getMaxHealth());
-            stmt.setInt(4, nexus.getShieldPoints());
-            stmt.setInt(5, nexus.getArmor());
-            stmt.setInt(6, nexus.getMagicResistance());
-            stmt.setInt(7, nexus.getRegenerationRate());
-            stmt.setLong(8, nexus.getLastDamageTime());
-            stmt.setBoolean(9, nexus.isRegenerating());
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_NEXUS_SQL)) {
             
+            bindNexus(stmt, nexus, kingdomId);
             stmt.executeUpdate();
+            nexus.markSaved(version);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save nexus data", e);
         }
     }
     
+    @Override
+    public void saveNexusDataBatch(Collection<Nexus> nexuses) {
+        saveBatch("nexus", UPSERT_NEXUS_SQL, nexuses, (stmt, nexus) -> bindNexus(stmt, nexus, nexus.getKingdomId()));
+    }
+    
+    private void bindNexus(PreparedStatement stmt, Nexus nexus, UUID kingdomId) throws SQLException {
+        stmt.setString(1, kingdomId.toString());
+        stmt.setInt(2, nexus.getCurrentHealth());
+        stmt.setInt(3, nexus.getMaxHealth());
+        stmt.setInt(4, nexus.getShieldPoints());
+        stmt.setInt(5, nexus.getArmor());
+        stmt.setInt(6, nexus.getMagicResistance());
+        stmt.setInt(7, nexus.getRegenerationRate());
+        stmt.setLong(8, nexus.getLastDamageTime());
+        stmt.setBoolean(9, nexus.isRegenerating());
+    }
+    
     @Override
     public Nexus loadNexusData(UUID kingdomId) {
         String sql = "SELECT * FROM nexus WHERE kingdom_id = ?";
@@ -790,24 +956,7 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                // Get the kingdom to determine town hall level
-                Kingdom kingdom = loadKingdomData(kingdomId);
-                int townHallLevel = kingdom != null ? kingdom.getTownHallLevel() : 1;
-                
-                Nexus nexus = new Nexus(kingdomId, townHallLevel);
-                
-                nexus.setCurrentHealth(rs.getInt("current_health"));
-                nexus.setMaxHealth(rs.getInt("max_health"));
-                nexus.setShieldPoints(rs.getInt("shield_points"));
-                
-                // Update defense stats from database
-                nexus.getDefenseStats().put("armor", rs.getInt("armor"));
-                nexus.getDefenseStats().put("magic_resistance", rs.getInt("magic_resistance"));
-                nexus.getDefenseStats().put("regeneration_rate", rs.getInt("regeneration_rate"));
-                nexus.setLastDamageTime(rs.getLong("last_damage_time"));
-                nexus.setRegenerating(rs.getBoolean("regenerating"));
-                
-                return nexus;
+                return nexusFromRow(rs);
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load nexus data for kingdom " + kingdomId, e);
@@ -816,37 +965,137 @@ public class MySqlDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private Nexus nexusFromRow(ResultSet rs) throws SQLException {
+        // Town hall level is applied when the kingdom is assembled, stored health values override it
+        Nexus nexus = new Nexus(UUID.fromString(rs.getString("kingdom_id")), 1);
+        
+        nexus.setMaxHealth(rs.getInt("max_health"));
+        nexus.setCurrentHealth(rs.getInt("current_health"));
+        nexus.setShieldPoints(rs.getInt("shield_points"));
+        
+        // Update defense stats from database
+        nexus.setDefenseStat("armor", rs.getInt("armor"));
+        nexus.setDefenseStat("magic_resistance", rs.getInt("magic_resistance"));
+        nexus.setDefenseStat("regeneration_rate", rs.getInt("regeneration_rate"));
+        nexus.setLastDamageTime(rs.getLong("last_damage_time"));
+        nexus.setRegenerating(rs.getBoolean("regenerating"));
+        return nexus;
+    }
+    
     @Override
     public void saveAll() {
-        plugin.getLogger().info("Saving all MySQL data...");
+        plugin.getLogger().info("Saving changed MySQL data...");
+        
+        // Collect every dirty entity with the version it has to reach
+        Map<VersionedEntity, Long> queued = new IdentityHashMap<>();
+        List<FeudalPlayer> players = new ArrayList<>();
+        List<TownHall> townHalls = new ArrayList<>();
+        List<Nexus> nexuses = new ArrayList<>();
+        List<Territory> territories = new ArrayList<>();
         
-        // Save all player data
         if (plugin.getPlayerDataManager() != null) {
             for (FeudalPlayer player : plugin.getPlayerDataManager().getAllPlayers().values()) {
-                savePlayerData(player);
+                collectDirty(player, players, queued);
             }
         }
         
-        // Save all kingdom data
         if (plugin.getKingdomManager() != null) {
             for (Kingdom kingdom : plugin.getKingdomManager().getAllKingdoms()) {
-                saveKingdomData(kingdom);
-                
-                // Save town hall and nexus data
+                // Kingdom rows rewrite their member list, so they are saved one by one
+                if (kingdom.isDirty()) {
+                    queued.put(kingdom, kingdom.getVersion());
+                    saveKingdomData(kingdom);
+                }
                 if (kingdom.getTownHall() != null) {
-                    saveTownHallData(kingdom.getTownHall(), kingdom.getKingdomId());
+                    collectDirty(kingdom.getTownHall(), townHalls, queued);
                 }
                 if (kingdom.getNexus() != null) {
-                    saveNexusData(kingdom.getNexus(), kingdom.getKingdomId());
+                    collectDirty(kingdom.getNexus(), nexuses, queued);
                 }
             }
             
-            // Save all territories (when saveTerritoryData is properly implemented)
             for (Territory territory : plugin.getKingdomManager().getAllTerritories()) {
-                saveTerritoryData(territory);
+                collectDirty(territory, territories, queued);
+            }
+        }
+        
+        savePlayerDataBatch(players);
+        saveTownHallDataBatch(townHalls);
+        saveNexusDataBatch(nexuses);
+        saveTerritoryDataBatch(territories);
+        
+        plugin.getLogger().info(String.format("MySQL save wrote %d players, %d kingdoms, %d town halls, %d nexus, %d territories",
+                countSaved(queued, FeudalPlayer.class), countSaved(queued, Kingdom.class), countSaved(queued, TownHall.class),
+                countSaved(queued, Nexus.class), countSaved(queued, Territory.class)));
+    }
+    
+    private <T extends VersionedEntity> void collectDirty(T entity, List<T> dirty, Map<VersionedEntity, Long> queued) {
+        if (entity.isDirty()) {
+            queued.put(entity, entity.getVersion());
+            dirty.add(entity);
+        }
+    }
+    
+    private int countSaved(Map<VersionedEntity, Long> queued, Class<? extends VersionedEntity> type) {
+        int count = 0;
+        for (Map.Entry<VersionedEntity, Long> entry : queued.entrySet()) {
+            if (type.isInstance(entry.getKey()) && entry.getKey().getSavedVersion() >= entry.getValue()) {
+                count++;
             }
         }
+        return count;
+    }
+    
+    /**
+     * Upsert rows on one connection as JDBC batches of at most batchSize rows, committing each chunk
+     */
+    private <T extends VersionedEntity> void saveBatch(String what, String sql, Collection<T> rows, RowBinder<T> binder) {
+        if (rows.isEmpty()) return;
         
-        plugin.getLogger().info("All MySQL data saved successfully.");
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            conn.setAutoCommit(false);
+            List<T> chunk = new ArrayList<>(Math.min(batchSize, rows.size()));
+            long[] versions = new long[batchSize];
+            
+            for (T row : rows) {
+                versions[chunk.size()] = row.getVersion();
+                chunk.add(row);
+                binder.bind(stmt, row);
+                stmt.addBatch();
+                
+                if (chunk.size() == batchSize) {
+                    commitChunk(conn, stmt, chunk, versions, what);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(conn, stmt, chunk, versions, what);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to save " + what + " batch", e);
+        }
+    }
+    
+    private <T extends VersionedEntity> void commitChunk(Connection conn, PreparedStatement stmt, List<T> chunk,
+                                                         long[] versions, String what) throws SQLException {
+        try {
+            stmt.executeBatch();
+            conn.commit();
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).markSaved(versions[i]);
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            plugin.getLogger().log(Level.SEVERE, "Failed to save a batch of " + chunk.size() + " " + what, e);
+        } finally {
+            stmt.clearBatch();
+            chunk.clear();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
     }
 }
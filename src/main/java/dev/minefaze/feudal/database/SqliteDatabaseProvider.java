@@ -7,23 +7,108 @@ import org.bukkit.World;
 
 import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 
 /**
- * SQLite database provider for local database storage
+ * SQLite database provider for local database storage.
+ * Writes are queued to a single writer thread that commits each drained batch in one transaction;
+ * loads use a separate read-only connection.
  */
 public class SqliteDatabaseProvider implements DatabaseProvider {
     
+    private static final int MAX_WRITES_PER_TRANSACTION = 1000;
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+    // Row key of writes that may touch any row, e.g. cascading deletes
+    private static final String ALL_ROWS = "*";
+    private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+    
+    // One column per profession in enum order, named like the YAML keys, e.g. warrior_experience
+    private static final List<String> EXPERIENCE_COLUMNS = Arrays.stream(Profession.values())
+            .map(profession -> profession.name().toLowerCase(Locale.ROOT) + "_experience")
+            .toList();
+    // One column per activity stat in enum order, e.g. blocks_mined
+    private static final List<String> STAT_COLUMNS = Arrays.stream(PlayerStat.values())
+            .map(stat -> stat.name().toLowerCase(Locale.ROOT))
+            .toList();
+    private static final List<String> ADDED_PLAYER_COLUMNS = Stream.concat(EXPERIENCE_COLUMNS.stream(), STAT_COLUMNS.stream())
+            .toList();
+    
+    private static final String UPSERT_PLAYER_SQL = """
+        INSERT OR REPLACE INTO players 
+        (player_id, player_name, kingdom_id, total_experience, in_combat,
+         warrior_level, miner_level, builder_level, farmer_level,
+         strength, defense, agility, endurance, intelligence, %s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?%s)
+    """.formatted(String.join(", ", ADDED_PLAYER_COLUMNS), ", ?".repeat(ADDED_PLAYER_COLUMNS.size()));
+    private static final String UPSERT_TERRITORY_SQL = """
+        INSERT OR REPLACE INTO territories 
+        (territory_id, kingdom_id, type, defense_level, claim_time, under_attack,
+         chunk_world, chunk_x, chunk_z)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+    private static final String UPSERT_TOWN_HALL_SQL = """
+        INSERT OR REPLACE INTO town_halls 
+        (kingdom_id, level, type, upgrading, upgrade_start_time,
+         location_world, location_x, location_y, location_z)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+    private static final String UPSERT_NEXUS_SQL = """
+        INSERT OR REPLACE INTO nexus 
+        (kingdom_id, current_health, max_health, shield_points, armor, 
+         magic_resistance, regeneration_rate, last_damage_time, regenerating)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+    
     private final Feudal plugin;
     private final String filename;
-    private Connection connection;
+    private final boolean walMode;
+    private final String synchronousMode;
+    private final long mmapSize;
+    private final int batchSize;
+    
+    // The write connection and statement cache belong to the writer thread
+    private Connection writeConnection;
+    private Connection readConnection;
+    private final BlockingQueue<QueuedWrite> writeQueue;
+    private final Map<String, PreparedStatement> statementCache;
+    private final AtomicInteger unflushedWrites;
+    // Rows with a write still queued or running, counted per key such as "player:<uuid>"
+    private final Map<String, Integer> queuedKeys;
+    private Thread writerThread;
+    private volatile boolean running;
     
-    public SqliteDatabaseProvider(Feudal plugin, String filename) {
+    public SqliteDatabaseProvider(Feudal plugin, String filename, boolean walMode, String synchronousMode,
+                                  long mmapSize, int writeQueueSize, int batchSize) {
         this.plugin = plugin;
         this.filename = filename;
+        this.walMode = walMode;
+        this.synchronousMode = synchronousMode.toUpperCase();
+        this.mmapSize = mmapSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.writeQueue = new ArrayBlockingQueue<>(Math.max(1, writeQueueSize));
+        this.statementCache = new HashMap<>();
+        this.unflushedWrites = new AtomicInteger();
+        this.queuedKeys = new ConcurrentHashMap<>();
     }
     
     @Override
@@ -32,18 +117,74 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
             File dbFile = new File(plugin.getDataFolder(), filename);
             String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
             
-            connection = DriverManager.getConnection(url);
+            writeConnection = DriverManager.getConnection(url);
+            applyPragmas(writeConnection);
             createTables();
+            writeConnection.setAutoCommit(false);
+            
+            // Read-only connection so loads never share the writer's open transaction
+            Properties readProperties = new Properties();
+            readProperties.setProperty("open_mode", "1"); // SQLITE_OPEN_READONLY
+            readConnection = DriverManager.getConnection(url, readProperties);
+            try (Statement stmt = readConnection.createStatement()) {
+                // Wait for the writer's locks like the writer does, instead of failing with SQLITE_BUSY
+                stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+                if (mmapSize > 0) {
+                    stmt.execute("PRAGMA mmap_size=" + mmapSize);
+                }
+            }
+            
+            running = true;
+            writerThread = new Thread(this::runWriter, "Feudal-SQLiteWriter");
+            writerThread.setDaemon(true);
+            writerThread.start();
             
-            plugin.getLogger().info("SQLite database initialized: " + filename);
+            plugin.getLogger().info("SQLite database initialized: " + filename + (walMode ? " (WAL)" : ""));
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to initialize SQLite database", e);
         }
     }
     
+    private void applyPragmas(Connection conn) throws SQLException {
+        String synchronous = synchronousMode;
+        if (!SYNCHRONOUS_MODES.contains(synchronous)) {
+            plugin.getLogger().warning("Unknown SQLite synchronous mode: " + synchronous + ". Using NORMAL.");
+            synchronous = "NORMAL";
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            if (walMode) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+            }
+            stmt.execute("PRAGMA synchronous=" + synchronous);
+            stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+            if (mmapSize > 0) {
+                stmt.execute("PRAGMA mmap_size=" + mmapSize);
+            }
+        }
+    }
+    
+    /**
+     * Add player columns introduced after the table was first created; existing rows take the default
+     */
+    private void addMissingPlayerColumns() throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (ResultSet rs = writeConnection.getMetaData().getColumns(null, null, "players", null)) {
+            while (rs.next()) {
+                existing.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        
+        for (String column : ADDED_PLAYER_COLUMNS) {
+            if (!existing.contains(column)) {
+                writeConnection.createStatement().execute("ALTER TABLE players ADD COLUMN " + column + " INTEGER DEFAULT 0");
+            }
+        }
+    }
+    
     private void createTables() throws SQLException {
         // Players table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS players (
                 player_id TEXT PRIMARY KEY,
                 player_name TEXT NOT NULL,
@@ -61,9 +202,10 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
                 intelligence INTEGER DEFAULT 10
             )
         """);
+        addMissingPlayerColumns();
         
         // Kingdoms table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS kingdoms (
                 kingdom_id TEXT PRIMARY KEY,
                 name TEXT UNIQUE NOT NULL,
@@ -79,7 +221,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Kingdom members table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS kingdom_members (
                 kingdom_id TEXT NOT NULL,
                 player_id TEXT NOT NULL,
@@ -89,7 +231,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Territories table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS territories (
                 territory_id TEXT PRIMARY KEY,
                 kingdom_id TEXT NOT NULL,
@@ -105,7 +247,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Challenges table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS challenges (
                 challenge_id TEXT PRIMARY KEY,
                 challenger TEXT NOT NULL,
@@ -125,7 +267,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Alliances table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS alliances (
                 kingdom1 TEXT NOT NULL,
                 kingdom2 TEXT NOT NULL,
@@ -136,7 +278,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Town halls table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS town_halls (
                 kingdom_id TEXT PRIMARY KEY,
                 level INTEGER DEFAULT 1,
@@ -152,7 +294,7 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         """);
         
         // Nexus table
-        connection.createStatement().execute("""
+        writeConnection.createStatement().execute("""
             CREATE TABLE IF NOT EXISTS nexus (
                 kingdom_id TEXT PRIMARY KEY,
                 current_health INTEGER NOT NULL,
@@ -170,9 +312,32 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     
     @Override
     public void close() {
+        // Let the writer drain the queue before the connections go away
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(30000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writerThread.isAlive()) {
+                plugin.getLogger().warning("SQLite writer did not finish in time, " + unflushedWrites.get() + " writes were not saved");
+                return;
+            }
+            writerThread = null;
+        }
+        
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            for (PreparedStatement stmt : statementCache.values()) {
+                stmt.close();
+            }
+            statementCache.clear();
+            
+            if (readConnection != null && !readConnection.isClosed()) {
+                readConnection.close();
+            }
+            if (writeConnection != null && !writeConnection.isClosed()) {
+                writeConnection.close();
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.WARNING, "Error closing SQLite connection", e);
@@ -182,50 +347,234 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     @Override
     public boolean testConnection() {
         try {
-            return connection != null && !connection.isClosed();
+            return running && writeConnection != null && !writeConnection.isClosed()
+                    && readConnection != null && !readConnection.isClosed();
         } catch (SQLException e) {
             return false;
         }
     }
     
+    // Writer thread
+    
+    /**
+     * Queue a write for the writer thread, blocking while the queue is full.
+     * The keys name the rows it changes, so loads of other rows do not wait for it.
+     */
+    private void submit(String description, List<String> keys, SqlWrite write, Runnable onCommit) {
+        if (!running) {
+            plugin.getLogger().warning("SQLite writer is not running, dropped write for " + description);
+            return;
+        }
+        
+        QueuedWrite queued = new QueuedWrite(description, keys, write, onCommit);
+        unflushedWrites.incrementAndGet();
+        for (String key : keys) {
+            queuedKeys.merge(key, 1, Integer::sum);
+        }
+        try {
+            writeQueue.put(queued);
+        } catch (InterruptedException e) {
+            unflushedWrites.decrementAndGet();
+            release(queued);
+            Thread.currentThread().interrupt();
+            plugin.getLogger().warning("Interrupted while queueing SQLite write for " + description);
+        }
+    }
+    
+    private void runWriter() {
+        List<QueuedWrite> batch = new ArrayList<>();
+        while (running || !writeQueue.isEmpty()) {
+            try {
+                QueuedWrite first = writeQueue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                
+                batch.add(first);
+                writeQueue.drainTo(batch, MAX_WRITES_PER_TRANSACTION - 1);
+                flushBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                unflushedWrites.addAndGet(-batch.size());
+                batch.forEach(this::release);
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Commit a batch in one transaction, falling back to one transaction per write if it fails
+     */
+    private void flushBatch(List<QueuedWrite> batch) {
+        try {
+            for (QueuedWrite write : batch) {
+                write.write.execute();
+            }
+            writeConnection.commit();
+            batch.forEach(QueuedWrite::committed);
+        } catch (SQLException | RuntimeException e) {
+            rollback();
+            plugin.getLogger().log(Level.WARNING, "SQLite batch of " + batch.size() + " writes failed, retrying individually", e);
+            
+            for (QueuedWrite write : batch) {
+                try {
+                    write.write.execute();
+                    writeConnection.commit();
+                    write.committed();
+                } catch (SQLException | RuntimeException ex) {
+                    rollback();
+                    plugin.getLogger().log(Level.SEVERE, "Failed to save " + write.description, ex);
+                }
+            }
+        }
+    }
+    
+    /** Forget a write's row keys once it was committed or failed */
+    private void release(QueuedWrite write) {
+        for (String key : write.keys) {
+            queuedKeys.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+    
+    private void rollback() {
+        try {
+            writeConnection.rollback();
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to roll back SQLite transaction", e);
+        }
+    }
+    
+    /**
+     * Get a cached prepared statement on the write connection (writer thread only)
+     */
+    private PreparedStatement prepareWrite(String sql) throws SQLException {
+        PreparedStatement stmt = statementCache.get(sql);
+        if (stmt == null) {
+            stmt = writeConnection.prepareStatement(sql);
+            statementCache.put(sql, stmt);
+        }
+        return stmt;
+    }
+    
+    /**
+     * Queue rows as JDBC batches of at most batchSize rows, one queued write per chunk
+     */
+    private <T extends VersionedEntity> void submitBatch(String what, String sql, Collection<T> rows,
+                                                          Function<T, String> keyOf, RowBinder<T> binder) {
+        List<T> chunk = new ArrayList<>(Math.min(batchSize, rows.size()));
+        for (T row : rows) {
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                submitChunk(what, sql, chunk, keyOf, binder);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submitChunk(what, sql, chunk, keyOf, binder);
+        }
+    }
+    
+    private <T extends VersionedEntity> void submitChunk(String what, String sql, List<T> chunk,
+                                                          Function<T, String> keyOf, RowBinder<T> binder) {
+        long[] versions = new long[chunk.size()];
+        List<String> keys = new ArrayList<>(chunk.size());
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = chunk.get(i).getVersion();
+            keys.add(keyOf.apply(chunk.get(i)));
+        }
+        
+        submit("batch of " + chunk.size() + " " + what, keys, () -> {
+            PreparedStatement stmt = prepareWrite(sql);
+            try {
+                for (T row : chunk) {
+                    binder.bind(stmt, row);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            } finally {
+                stmt.clearBatch();
+            }
+        }, () -> {
+            for (int i = 0; i < versions.length; i++) {
+                chunk.get(i).markSaved(versions[i]);
+            }
+        });
+    }
+    
+    /**
+     * Wait for queued writes only if one of them changes the given row, so unrelated loads never block
+     */
+    private void awaitPendingWrites(String key) {
+        if (queuedKeys.containsKey(key) || queuedKeys.containsKey(ALL_ROWS)) {
+            awaitPendingWrites();
+        }
+    }
+    
+    /**
+     * Wait until everything queued so far is committed, so loads see the newest state
+     */
+    private void awaitPendingWrites() {
+        if (unflushedWrites.get() == 0 || !running || Thread.currentThread() == writerThread) {
+            return;
+        }
+        
+        CountDownLatch latch = new CountDownLatch(1);
+        submit("flush barrier", List.of(), () -> {}, latch::countDown);
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for queued SQLite writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
     // Player Data Methods
     @Override
     public void savePlayerData(FeudalPlayer player) {
-        String sql = """
-            INSERT OR REPLACE INTO players 
-            (player_id, player_name, kingdom_id, total_experience, in_combat,
-             warrior_level, miner_level, builder_level, farmer_level,
-             strength, defense, agility, endurance, intelligence)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, player.getPlayerId().toString());
-            stmt.setString(2, player.getPlayerName());
-            stmt.setString(3, player.getKingdom() != null ? player.getKingdom().getKingdomId().toString() : null);
-            stmt.setInt(4, player.getTotalExperience());
-            stmt.setBoolean(5, player.isInCombat());
-            stmt.setInt(6, player.getProfessionLevel(Profession.WARRIOR));
-            stmt.setInt(7, player.getProfessionLevel(Profession.MINER));
-            stmt.setInt(8, player.getProfessionLevel(Profession.BUILDER));
-            stmt.setInt(9, player.getProfessionLevel(Profession.FARMER));
-            stmt.setInt(10, player.getAttribute(Attribute.STRENGTH));
-            stmt.setInt(11, player.getAttribute(Attribute.DEFENSE));
-            stmt.setInt(12, player.getAttribute(Attribute.AGILITY));
-            stmt.setInt(13, player.getAttribute(Attribute.ENDURANCE));
-            stmt.setInt(14, player.getAttribute(Attribute.INTELLIGENCE));
-            
+        long version = player.getVersion();
+        submit("player data for " + player.getPlayerName(), List.of("player:" + player.getPlayerId()), () -> {
+            PreparedStatement stmt = prepareWrite(UPSERT_PLAYER_SQL);
+            bindPlayer(stmt, player);
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + player.getPlayerName(), e);
+        }, () -> player.markSaved(version));
+    }
+    
+    @Override
+    public void savePlayerDataBatch(Collection<FeudalPlayer> players) {
+        submitBatch("players", UPSERT_PLAYER_SQL, players, player -> "player:" + player.getPlayerId(), this::bindPlayer);
+    }
+    
+    private void bindPlayer(PreparedStatement stmt, FeudalPlayer player) throws SQLException {
+        stmt.setString(1, player.getPlayerId().toString());
+        stmt.setString(2, player.getPlayerName());
+        stmt.setString(3, player.getKingdomId() != null ? player.getKingdomId().toString() : null);
+        stmt.setInt(4, player.getTotalExperience());
+        stmt.setBoolean(5, player.isInCombat());
+        stmt.setInt(6, player.getProfessionLevel(Profession.WARRIOR));
+        stmt.setInt(7, player.getProfessionLevel(Profession.MINER));
+        stmt.setInt(8, player.getProfessionLevel(Profession.BUILDER));
+        stmt.setInt(9, player.getProfessionLevel(Profession.FARMER));
+        stmt.setInt(10, player.getAttribute(Attribute.STRENGTH));
+        stmt.setInt(11, player.getAttribute(Attribute.DEFENSE));
+        stmt.setInt(12, player.getAttribute(Attribute.AGILITY));
+        stmt.setInt(13, player.getAttribute(Attribute.ENDURANCE));
+        stmt.setInt(14, player.getAttribute(Attribute.INTELLIGENCE));
+        int index = 15;
+        for (Profession profession : Profession.values()) {
+            stmt.setInt(index++, player.getProfessionExperience(profession));
+        }
+        for (PlayerStat stat : PlayerStat.values()) {
+            stmt.setInt(index++, player.getStat(stat));
         }
     }
     
     @Override
     public FeudalPlayer loadPlayerData(UUID playerId) {
+        awaitPendingWrites("player:" + playerId);
         String sql = "SELECT * FROM players WHERE player_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, playerId.toString());
             ResultSet rs = stmt.executeQuery();
             
@@ -249,22 +598,21 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
                 player.setAttribute(Attribute.ENDURANCE, rs.getInt("endurance"));
                 player.setAttribute(Attribute.INTELLIGENCE, rs.getInt("intelligence"));
                 
-                // Restore kingdom reference if exists
+                // Load profession experience
+                for (Profession profession : Profession.values()) {
+                    player.setProfessionExperience(profession, rs.getInt(EXPERIENCE_COLUMNS.get(profession.ordinal())));
+                }
+                
+                // Load activity stats
+                for (PlayerStat stat : PlayerStat.values()) {
+                    player.setStat(stat, rs.getInt(STAT_COLUMNS.get(stat.ordinal())));
+                }
+                
+                // Keep only the kingdom id; loads may run off the main thread, so the Kingdom is attached on join
                 String kingdomIdStr = rs.getString("kingdom_id");
                 if (kingdomIdStr != null && !kingdomIdStr.isEmpty()) {
                     try {
-                        UUID kingdomId = UUID.fromString(kingdomIdStr);
-                        Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
-                        if (kingdom != null) {
-                            player.setKingdom(kingdom);
-                            // Ensure the player is in the kingdom's member list
-                            if (!kingdom.getMembers().contains(playerId)) {
-                                kingdom.addMember(playerId);
-                                plugin.getLogger().info("Re-added player " + playerId + " to kingdom " + kingdom.getName());
-                            }
-                        } else {
-                            plugin.getLogger().warning("Kingdom " + kingdomId + " not found for player " + playerId);
-                        }
+                        player.setKingdomId(UUID.fromString(kingdomIdStr));
                     } catch (IllegalArgumentException e) {
                         plugin.getLogger().warning("Invalid kingdom ID for player " + playerId + ": " + kingdomIdStr);
                     }
@@ -282,14 +630,16 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     // Kingdom Data Methods
     @Override
     public void saveKingdomData(Kingdom kingdom) {
-        String sql = """
-            INSERT OR REPLACE INTO kingdoms 
-            (kingdom_id, name, leader, treasury, creation_time, 
-             capital_world, capital_x, capital_y, capital_z, settings)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        long version = kingdom.getVersion();
+        submit("kingdom data for " + kingdom.getName(), List.of("kingdom:" + kingdom.getKingdomId()), () -> {
+            String sql = """
+                INSERT OR REPLACE INTO kingdoms 
+                (kingdom_id, name, leader, treasury, creation_time, 
+                 capital_world, capital_x, capital_y, capital_z, settings)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+            
+            PreparedStatement stmt = prepareWrite(sql);
             stmt.setString(1, kingdom.getKingdomId().toString());
             stmt.setString(2, kingdom.getName());
             stmt.setString(3, kingdom.getLeader().toString());
@@ -316,59 +666,36 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
             
             // Save kingdom members
             saveKingdomMembers(kingdom);
-            
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save kingdom data for " + kingdom.getName(), e);
-        }
+        }, () -> kingdom.markSaved(version));
     }
     
     private void saveKingdomMembers(Kingdom kingdom) throws SQLException {
         // Delete existing members
-        String deleteSql = "DELETE FROM kingdom_members WHERE kingdom_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(deleteSql)) {
-            stmt.setString(1, kingdom.getKingdomId().toString());
-            stmt.executeUpdate();
-        }
+        PreparedStatement deleteStmt = prepareWrite("DELETE FROM kingdom_members WHERE kingdom_id = ?");
+        deleteStmt.setString(1, kingdom.getKingdomId().toString());
+        deleteStmt.executeUpdate();
         
         // Insert current members
-        String insertSql = "INSERT INTO kingdom_members (kingdom_id, player_id) VALUES (?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
-            for (UUID memberId : kingdom.getMembers()) {
-                stmt.setString(1, kingdom.getKingdomId().toString());
-                stmt.setString(2, memberId.toString());
-                stmt.addBatch();
-            }
-            stmt.executeBatch();
+        PreparedStatement insertStmt = prepareWrite("INSERT INTO kingdom_members (kingdom_id, player_id) VALUES (?, ?)");
+        for (UUID memberId : kingdom.getMembers()) {
+            insertStmt.setString(1, kingdom.getKingdomId().toString());
+            insertStmt.setString(2, memberId.toString());
+            insertStmt.addBatch();
         }
+        insertStmt.executeBatch();
     }
     
     @Override
     public Kingdom loadKingdomData(UUID kingdomId) {
+        awaitPendingWrites("kingdom:" + kingdomId);
         String sql = "SELECT * FROM kingdoms WHERE kingdom_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, kingdomId.toString());
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                String name = rs.getString("name");
-                UUID leader = UUID.fromString(rs.getString("leader"));
-                
-                // Load capital location
-                Location capital = null;
-                String worldName = rs.getString("capital_world");
-                if (worldName != null) {
-                    World world = plugin.getServer().getWorld(worldName);
-                    if (world != null) {
-                        double x = rs.getDouble("capital_x");
-                        double y = rs.getDouble("capital_y");
-                        double z = rs.getDouble("capital_z");
-                        capital = new Location(world, x, y, z);
-                    }
-                }
-                
-                Kingdom kingdom = new Kingdom(kingdomId, name, leader, capital);
-                kingdom.setTreasury(rs.getInt("treasury"));
+                Kingdom kingdom = kingdomFromRow(rs);
                 
                 // Load members
                 loadKingdomMembers(kingdom);
@@ -382,9 +709,32 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private Kingdom kingdomFromRow(ResultSet rs) throws SQLException {
+        UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
+        String name = rs.getString("name");
+        UUID leader = UUID.fromString(rs.getString("leader"));
+        
+        // Load capital location
+        Location capital = null;
+        String worldName = rs.getString("capital_world");
+        if (worldName != null) {
+            World world = plugin.getServer().getWorld(worldName);
+            if (world != null) {
+                double x = rs.getDouble("capital_x");
+                double y = rs.getDouble("capital_y");
+                double z = rs.getDouble("capital_z");
+                capital = new Location(world, x, y, z);
+            }
+        }
+        
+        Kingdom kingdom = new Kingdom(kingdomId, name, leader, capital);
+        kingdom.setTreasury(rs.getInt("treasury"));
+        return kingdom;
+    }
+    
     private void loadKingdomMembers(Kingdom kingdom) throws SQLException {
         String sql = "SELECT player_id FROM kingdom_members WHERE kingdom_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, kingdom.getKingdomId().toString());
             ResultSet rs = stmt.executeQuery();
             
@@ -399,90 +749,136 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     
     @Override
     public Map<UUID, Kingdom> loadAllKingdoms() {
+        awaitPendingWrites();
         Map<UUID, Kingdom> kingdoms = new HashMap<>();
-        String sql = "SELECT kingdom_id FROM kingdoms";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try {
+            loadKingdomRows(kingdoms);
+            loadAllKingdomMembers(kingdoms);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load all kingdoms", e);
+        }
+        
+        return kingdoms;
+    }
+    
+    private void loadKingdomRows(Map<UUID, Kingdom> kingdoms) throws SQLException {
+        try (PreparedStatement stmt = readConnection.prepareStatement("SELECT * FROM kingdoms")) {
             ResultSet rs = stmt.executeQuery();
-            
             while (rs.next()) {
-                UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
-                Kingdom kingdom = loadKingdomData(kingdomId);
-                if (kingdom != null) {
-                    kingdoms.put(kingdomId, kingdom);
+                Kingdom kingdom = kingdomFromRow(rs);
+                kingdoms.put(kingdom.getKingdomId(), kingdom);
+            }
+        }
+    }
+    
+    private void loadAllKingdomMembers(Map<UUID, Kingdom> kingdoms) throws SQLException {
+        try (PreparedStatement stmt = readConnection.prepareStatement("SELECT kingdom_id, player_id FROM kingdom_members")) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Kingdom kingdom = kingdoms.get(UUID.fromString(rs.getString("kingdom_id")));
+                UUID memberId = UUID.fromString(rs.getString("player_id"));
+                if (kingdom != null && !memberId.equals(kingdom.getLeader())) {
+                    kingdom.addMember(memberId);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public KingdomDataSet loadAllKingdomData() {
+        awaitPendingWrites();
+        KingdomDataSet data = new KingdomDataSet();
+        
+        try {
+            long start = System.nanoTime();
+            loadKingdomRows(data.getKingdoms());
+            data.recordStage("kingdoms", start);
+            
+            start = System.nanoTime();
+            loadAllKingdomMembers(data.getKingdoms());
+            data.recordStage("members", start);
+            
+            start = System.nanoTime();
+            try (PreparedStatement stmt = readConnection.prepareStatement("SELECT * FROM town_halls")) {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    TownHall townHall = townHallFromRow(rs);
+                    data.getTownHalls().put(townHall.getKingdomId(), townHall);
                 }
             }
+            data.recordStage("town halls", start);
+            
+            start = System.nanoTime();
+            try (PreparedStatement stmt = readConnection.prepareStatement("SELECT * FROM nexus")) {
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    Nexus nexus = nexusFromRow(rs);
+                    data.getNexuses().put(nexus.getKingdomId(), nexus);
+                }
+            }
+            data.recordStage("nexus", start);
+            
+            start = System.nanoTime();
+            loadTerritoryRows(data.getTerritories());
+            data.recordStage("territories", start);
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to load all kingdoms", e);
+            plugin.getLogger().log(Level.SEVERE, "Failed to load kingdom data", e);
         }
         
-        return kingdoms;
+        return data;
     }
     
     @Override
     public void deleteKingdomData(UUID kingdomId) {
-        String sql = "DELETE FROM kingdoms WHERE kingdom_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        // Cascades to the kingdom's members, structures and territories, so it counts for every row
+        submit("kingdom deletion for " + kingdomId, List.of(ALL_ROWS), () -> {
+            PreparedStatement stmt = prepareWrite("DELETE FROM kingdoms WHERE kingdom_id = ?");
             stmt.setString(1, kingdomId.toString());
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to delete kingdom data for " + kingdomId, e);
-        }
+        }, null);
     }
     
     // Territory Data Methods
     @Override
     public void saveTerritoryData(Territory territory) {
-        String sql = """
-            INSERT OR REPLACE INTO territories 
-            (territory_id, kingdom_id, type, defense_level, claim_time, under_attack,
-             chunk_world, chunk_x, chunk_z)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, territory.getTerritoryId().toString());
-            stmt.setString(2, territory.getKingdomId().toString());
-            stmt.setString(3, territory.getType().name());
-            stmt.setInt(4, territory.getDefenseLevel());
-            stmt.setLong(5, territory.getClaimTime());
-            stmt.setBoolean(6, territory.isUnderAttack());
-            stmt.setString(7, territory.getChunk().getWorld().getName());
-            stmt.setInt(8, territory.getChunk().getX());
-            stmt.setInt(9, territory.getChunk().getZ());
-            
+        long version = territory.getVersion();
+        submit("territory data for " + territory.getTerritoryId(), List.of("territory:" + territory.getTerritoryId()), () -> {
+            PreparedStatement stmt = prepareWrite(UPSERT_TERRITORY_SQL);
+            bindTerritory(stmt, territory);
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save territory data", e);
-        }
+        }, () -> territory.markSaved(version));
+    }
+    
+    @Override
+    public void saveTerritoryDataBatch(Collection<Territory> territories) {
+        submitBatch("territories", UPSERT_TERRITORY_SQL, territories,
+                territory -> "territory:" + territory.getTerritoryId(), this::bindTerritory);
+    }
+    
+    private void bindTerritory(PreparedStatement stmt, Territory territory) throws SQLException {
+        stmt.setString(1, territory.getTerritoryId().toString());
+        stmt.setString(2, territory.getKingdomId().toString());
+        stmt.setString(3, territory.getType().name());
+        stmt.setInt(4, territory.getDefenseLevel());
+        stmt.setLong(5, territory.getClaimTime());
+        stmt.setBoolean(6, territory.isUnderAttack());
+        stmt.setString(7, territory.getWorldName());
+        stmt.setInt(8, territory.getChunkX());
+        stmt.setInt(9, territory.getChunkZ());
     }
     
     @Override
     public Territory loadTerritoryData(UUID territoryId) {
+        awaitPendingWrites("territory:" + territoryId);
         String sql = "SELECT * FROM territories WHERE territory_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, territoryId.toString());
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
-                TerritoryType type = TerritoryType.valueOf(rs.getString("type"));
-                
-                String worldName = rs.getString("chunk_world");
-                World world = plugin.getServer().getWorld(worldName);
-                if (world == null) return null;
-                
-                int chunkX = rs.getInt("chunk_x");
-                int chunkZ = rs.getInt("chunk_z");
-                org.bukkit.Chunk chunk = world.getChunkAt(chunkX, chunkZ);
-                
-                Territory territory = new Territory(territoryId, kingdomId, chunk, type);
-                territory.setDefenseLevel(rs.getInt("defense_level"));
-                territory.setUnderAttack(rs.getBoolean("under_attack"));
-                
-                return territory;
+                return createTerritoryFromResultSet(rs);
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load territory data for " + territoryId, e);
@@ -493,36 +889,56 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     
     @Override
     public Map<UUID, Territory> loadAllTerritories() {
+        awaitPendingWrites();
         Map<UUID, Territory> territories = new HashMap<>();
-        String sql = "SELECT territory_id FROM territories";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try {
+            loadTerritoryRows(territories);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load all territories", e);
+        }
+        
+        return territories;
+    }
+    
+    private void loadTerritoryRows(Map<UUID, Territory> territories) throws SQLException {
+        try (PreparedStatement stmt = readConnection.prepareStatement("SELECT * FROM territories")) {
             ResultSet rs = stmt.executeQuery();
-            
             while (rs.next()) {
-                UUID territoryId = UUID.fromString(rs.getString("territory_id"));
-                Territory territory = loadTerritoryData(territoryId);
+                Territory territory = createTerritoryFromResultSet(rs);
                 if (territory != null) {
-                    territories.put(territoryId, territory);
+                    territories.put(territory.getTerritoryId(), territory);
                 }
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to load all territories", e);
         }
+    }
+    
+    private Territory createTerritoryFromResultSet(ResultSet rs) throws SQLException {
+        UUID territoryId = UUID.fromString(rs.getString("territory_id"));
+        UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
+        TerritoryType type = TerritoryType.valueOf(rs.getString("type"));
         
-        return territories;
+        String worldName = rs.getString("chunk_world");
+        World world = plugin.getServer().getWorld(worldName);
+        if (world == null) return null;
+        
+        int chunkX = rs.getInt("chunk_x");
+        int chunkZ = rs.getInt("chunk_z");
+        ChunkKey chunkKey = ChunkKey.of(world, chunkX, chunkZ);
+        
+        Territory territory = new Territory(territoryId, kingdomId, chunkKey, type);
+        territory.setDefenseLevel(rs.getInt("defense_level"));
+        territory.setUnderAttack(rs.getBoolean("under_attack"));
+        return territory;
     }
     
     @Override
     public void deleteTerritoryData(UUID territoryId) {
-        String sql = "DELETE FROM territories WHERE territory_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        submit("territory deletion for " + territoryId, List.of("territory:" + territoryId), () -> {
+            PreparedStatement stmt = prepareWrite("DELETE FROM territories WHERE territory_id = ?");
             stmt.setString(1, territoryId.toString());
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to delete territory data for " + territoryId, e);
-        }
+        }, null);
     }
     
     // Simplified implementations for other methods
@@ -543,13 +959,11 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     
     @Override
     public void deleteChallengeData(UUID challengeId) {
-        String sql = "DELETE FROM challenges WHERE challenge_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        submit("challenge deletion for " + challengeId, List.of("challenge:" + challengeId), () -> {
+            PreparedStatement stmt = prepareWrite("DELETE FROM challenges WHERE challenge_id = ?");
             stmt.setString(1, challengeId.toString());
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to delete challenge data", e);
-        }
+        }, null);
     }
     
     @Override
@@ -574,69 +988,52 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
     
     @Override
     public void saveTownHallData(TownHall townHall, UUID kingdomId) {
-        String sql = """
-            INSERT OR REPLACE INTO town_halls 
-            (kingdom_id, level, type, upgrading, upgrade_start_time,
-             location_world, location_x, location_y, location_z)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, kingdomId.toString());
-            stmt.setInt(2, townHall.getLevel());
-            stmt.setString(3, townHall.getType().name());
-            stmt.setBoolean(4, townHall.isUpgrading());
-            stmt.setLong(5, townHall.getUpgradeStartTime());
-            
-            if (townHall.getLocation() != null) {
-                Location loc = townHall.getLocation();
-                stmt.setString(6, loc.getWorld().getName());
-                stmt.setDouble(7, loc.getX());
-                stmt.setDouble(8, loc.getY());
-                stmt.setDouble(9, loc.getZ());
-            } else {
-                stmt.setNull(6, Types.VARCHAR);
-                stmt.setNull(7, Types.REAL);
-                stmt.setNull(8, Types.REAL);
-                stmt.setNull(9, Types.REAL);
-            }
-            
+        long version = townHall.getVersion();
+        submit("town hall data for " + kingdomId, List.of("townhall:" + kingdomId), () -> {
+            PreparedStatement stmt = prepareWrite(UPSERT_TOWN_HALL_SQL);
+            bindTownHall(stmt, townHall, kingdomId);
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save town hall data", e);
+        }, () -> townHall.markSaved(version));
+    }
+    
+    @Override
+    public void saveTownHallDataBatch(Collection<TownHall> townHalls) {
+        submitBatch("town halls", UPSERT_TOWN_HALL_SQL, townHalls, townHall -> "townhall:" + townHall.getKingdomId(),
+                (stmt, townHall) -> bindTownHall(stmt, townHall, townHall.getKingdomId()));
+    }
+    
+    private void bindTownHall(PreparedStatement stmt, TownHall townHall, UUID kingdomId) throws SQLException {
+        stmt.setString(1, kingdomId.toString());
+        stmt.setInt(2, townHall.getLevel());
+        stmt.setString(3, townHall.getType().name());
+        stmt.setBoolean(4, townHall.isUpgrading());
+        stmt.setLong(5, townHall.getUpgradeStartTime());
+        
+        if (townHall.getLocation() != null) {
+            Location loc = townHall.getLocation();
+            stmt.setString(6, loc.getWorld().getName());
+            stmt.setDouble(7, loc.getX());
+            stmt.setDouble(8, loc.getY());
+            stmt.setDouble(9, loc.getZ());
+        } else {
+            stmt.setNull(6, Types.VARCHAR);
+            stmt.setNull(7, Types.REAL);
+            stmt.setNull(8, Types.REAL);
+            stmt.setNull(9, Types.REAL);
         }
     }
     
     @Override
     public TownHall loadTownHallData(UUID kingdomId) {
+        awaitPendingWrites("townhall:" + kingdomId);
         String sql = "SELECT * FROM town_halls WHERE kingdom_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, kingdomId.toString());
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                int level = rs.getInt("level");
-                TownHall.TownHallType type = TownHall.TownHallType.valueOf(rs.getString("type"));
-                
-                Location location = null;
-                String worldName = rs.getString("location_world");
-                if (worldName != null) {
-                    World world = plugin.getServer().getWorld(worldName);
-                    if (world != null) {
-                        double x = rs.getDouble("location_x");
-                        double y = rs.getDouble("location_y");
-                        double z = rs.getDouble("location_z");
-                        location = new Location(world, x, y, z);
-                    }
-                }
-                
-                TownHall townHall = new TownHall(kingdomId, location, type);
-                townHall.setLevel(level);
-                townHall.setUpgrading(rs.getBoolean("upgrading"));
-                townHall.setUpgradeStartTime(rs.getLong("upgrade_start_time"));
-                
-                return townHall;
+                return townHallFromRow(rs);
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load town hall data for " + kingdomId, e);
@@ -645,57 +1042,68 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private TownHall townHallFromRow(ResultSet rs) throws SQLException {
+        UUID kingdomId = UUID.fromString(rs.getString("kingdom_id"));
+        int level = rs.getInt("level");
+        TownHall.TownHallType type = TownHall.TownHallType.valueOf(rs.getString("type"));
+        
+        Location location = null;
+        String worldName = rs.getString("location_world");
+        if (worldName != null) {
+            World world = plugin.getServer().getWorld(worldName);
+            if (world != null) {
+                double x = rs.getDouble("location_x");
+                double y = rs.getDouble("location_y");
+                double z = rs.getDouble("location_z");
+                location = new Location(world, x, y, z);
+            }
+        }
+        
+        TownHall townHall = new TownHall(kingdomId, location, type);
+        townHall.setLevel(level);
+        townHall.setUpgrading(rs.getBoolean("upgrading"));
+        townHall.setUpgradeStartTime(rs.getLong("upgrade_start_time"));
+        return townHall;
+    }
+    
     @Override
     public void saveNexusData(Nexus nexus, UUID kingdomId) {
-        String sql = """
-            INSERT OR REPLACE INTO nexus 
-            (kingdom_id, current_health, max_health, shield_points, armor, 
-             magic_resistance, regeneration_rate, last_damage_time, regenerating)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, kingdomId.toString());
-            stmt.setInt(2, nexus.getCurrentHealth());
-            stmt.setInt(3, nexus.getMaxHealth());
-            stmt.setInt(4, nexus.getShieldPoints());
-            stmt.setInt(5, nexus.getDefenseStats().getOrDefault("armor", 0));
-            stmt.setInt(6, nexus.getDefenseStats().getOrDefault("magic_resistance", 0));
-            stmt.setInt(7, nexus.getDefenseStats().getOrDefault("regeneration_rate", 0));
-            stmt.setLong(8, nexus.getLastDamageTime());
-            stmt.setBoolean(9, nexus.isRegenerating());
-            
+        long version = nexus.getVersion();
+        submit("nexus data for " + kingdomId, List.of("nexus:" + kingdomId), () -> {
+            PreparedStatement stmt = prepareWrite(UPSERT_NEXUS_SQL);
+            bindNexus(stmt, nexus, kingdomId);
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save nexus data", e);
-        }
+        }, () -> nexus.markSaved(version));
+    }
+    
+    @Override
+    public void saveNexusDataBatch(Collection<Nexus> nexuses) {
+        submitBatch("nexus", UPSERT_NEXUS_SQL, nexuses, nexus -> "nexus:" + nexus.getKingdomId(), (stmt, nexus) -> bindNexus(stmt, nexus, nexus.getKingdomId()));
+    }
+    
+    private void bindNexus(PreparedStatement stmt, Nexus nexus, UUID kingdomId) throws SQLException {
+        stmt.setString(1, kingdomId.toString());
+        stmt.setInt(2, nexus.getCurrentHealth());
+        stmt.setInt(3, nexus.getMaxHealth());
+        stmt.setInt(4, nexus.getShieldPoints());
+        stmt.setInt(5, nexus.getDefenseStats().getOrDefault("armor", 0));
+        stmt.setInt(6, nexus.getDefenseStats().getOrDefault("magic_resistance", 0));
+        stmt.setInt(7, nexus.getDefenseStats().getOrDefault("regeneration_rate", 0));
+        stmt.setLong(8, nexus.getLastDamageTime());
+        stmt.setBoolean(9, nexus.isRegenerating());
     }
     
     @Override
     public Nexus loadNexusData(UUID kingdomId) {
+        awaitPendingWrites("nexus:" + kingdomId);
         String sql = "SELECT * FROM nexus WHERE kingdom_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
             stmt.setString(1, kingdomId.toString());
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                // Create nexus with default town hall level (will be updated when kingdom loads)
-                Nexus nexus = new Nexus(kingdomId, 1);
-                
-                // Set loaded values
-                nexus.setMaxHealth(rs.getInt("max_health"));
-                nexus.setCurrentHealth(rs.getInt("current_health"));
-                nexus.setShieldPoints(rs.getInt("shield_points"));
-                nexus.setLastDamageTime(rs.getLong("last_damage_time"));
-                nexus.setRegenerating(rs.getBoolean("regenerating"));
-                
-                // Update defense stats with loaded values
-                nexus.getDefenseStats().put("armor", rs.getInt("armor"));
-                nexus.getDefenseStats().put("magic_resistance", rs.getInt("magic_resistance"));
-                nexus.getDefenseStats().put("regeneration_rate", rs.getInt("regeneration_rate"));
-                
-                return nexus;
+                return nexusFromRow(rs);
             }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load nexus data for " + kingdomId, e);
@@ -704,37 +1112,120 @@ public class SqliteDatabaseProvider implements DatabaseProvider {
         return null;
     }
     
+    private Nexus nexusFromRow(ResultSet rs) throws SQLException {
+        // Create nexus with default town hall level (will be updated when kingdom loads)
+        Nexus nexus = new Nexus(UUID.fromString(rs.getString("kingdom_id")), 1);
+        
+        // Set loaded values
+        nexus.setMaxHealth(rs.getInt("max_health"));
+        nexus.setCurrentHealth(rs.getInt("current_health"));
+        nexus.setShieldPoints(rs.getInt("shield_points"));
+        nexus.setLastDamageTime(rs.getLong("last_damage_time"));
+        nexus.setRegenerating(rs.getBoolean("regenerating"));
+        
+        // Update defense stats with loaded values
+        nexus.setDefenseStat("armor", rs.getInt("armor"));
+        nexus.setDefenseStat("magic_resistance", rs.getInt("magic_resistance"));
+        nexus.setDefenseStat("regeneration_rate", rs.getInt("regeneration_rate"));
+        return nexus;
+    }
+    
     @Override
     public void saveAll() {
-        plugin.getLogger().info("Saving all SQLite data...");
+        plugin.getLogger().info("Saving changed SQLite data...");
+        
+        // Collect every dirty entity with the version it has to reach; the writer gets snapshots
+        Map<VersionedEntity, Long> queued = new IdentityHashMap<>();
+        List<FeudalPlayer> players = new ArrayList<>();
+        List<TownHall> townHalls = new ArrayList<>();
+        List<Nexus> nexuses = new ArrayList<>();
+        List<Territory> territories = new ArrayList<>();
         
-        // Save all player data
         if (plugin.getPlayerDataManager() != null) {
             for (FeudalPlayer player : plugin.getPlayerDataManager().getAllPlayers().values()) {
-                savePlayerData(player);
+                collectDirty(player, players, queued);
             }
         }
         
-        // Save all kingdom data
         if (plugin.getKingdomManager() != null) {
             for (Kingdom kingdom : plugin.getKingdomManager().getAllKingdoms()) {
-                saveKingdomData(kingdom);
-                
-                // Save town hall and nexus data
+                // Kingdom rows rewrite their member list, so they are saved one by one
+                if (kingdom.isDirty()) {
+                    queued.put(kingdom, kingdom.getVersion());
+                    saveKingdomData(kingdom.snapshot());
+                }
                 if (kingdom.getTownHall() != null) {
-                    saveTownHallData(kingdom.getTownHall(), kingdom.getKingdomId());
+                    collectDirty(kingdom.getTownHall(), townHalls, queued);
                 }
                 if (kingdom.getNexus() != null) {
-                    saveNexusData(kingdom.getNexus(), kingdom.getKingdomId());
+                    collectDirty(kingdom.getNexus(), nexuses, queued);
                 }
             }
             
-            // Save all territories
             for (Territory territory : plugin.getKingdomManager().getAllTerritories()) {
-                saveTerritoryData(territory);
+                collectDirty(territory, territories, queued);
             }
         }
         
-        plugin.getLogger().info("All SQLite data saved successfully.");
+        savePlayerDataBatch(players);
+        saveTownHallDataBatch(townHalls);
+        saveNexusDataBatch(nexuses);
+        saveTerritoryDataBatch(territories);
+        
+        // Wait for the writer so the counts reflect committed rows
+        awaitPendingWrites();
+        
+        plugin.getLogger().info(String.format("SQLite save wrote %d players, %d kingdoms, %d town halls, %d nexus, %d territories",
+                countSaved(queued, FeudalPlayer.class), countSaved(queued, Kingdom.class), countSaved(queued, TownHall.class),
+                countSaved(queued, Nexus.class), countSaved(queued, Territory.class)));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T extends VersionedEntity> void collectDirty(T entity, List<T> dirty, Map<VersionedEntity, Long> queued) {
+        if (entity.isDirty()) {
+            queued.put(entity, entity.getVersion());
+            // Every model's snapshot() returns its own type
+            dirty.add((T) entity.snapshot());
+        }
+    }
+    
+    private int countSaved(Map<VersionedEntity, Long> queued, Class<? extends VersionedEntity> type) {
+        int count = 0;
+        for (Map.Entry<VersionedEntity, Long> entry : queued.entrySet()) {
+            if (type.isInstance(entry.getKey()) && entry.getKey().getSavedVersion() >= entry.getValue()) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @FunctionalInterface
+    private interface SqlWrite {
+        void execute() throws SQLException;
+    }
+    
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+    
+    private static final class QueuedWrite {
+        private final String description;
+        private final List<String> keys;
+        private final SqlWrite write;
+        private final Runnable onCommit;
+        
+        private QueuedWrite(String description, List<String> keys, SqlWrite write, Runnable onCommit) {
+            this.description = description;
+            this.keys = keys;
+            this.write = write;
+            this.onCommit = onCommit;
+        }
+        
+        private void committed() {
+            if (onCommit != null) {
+                onCommit.run();
+            }
+        }
     }
 }
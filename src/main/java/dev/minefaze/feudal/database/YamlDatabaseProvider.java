@@ -72,6 +72,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     // Player Data Methods
     @Override
     public void savePlayerData(FeudalPlayer player) {
+        long version = player.getVersion();
         try {
             File playerFile = new File(playersFolder, player.getPlayerId().toString() + ".yml");
             FileConfiguration config = new YamlConfiguration();
@@ -82,13 +83,14 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             config.set("inCombat", player.isInCombat());
             
             // Save kingdom reference
-            if (player.getKingdom() != null) {
-                config.set("kingdomId", player.getKingdom().getKingdomId().toString());
+            if (player.getKingdomId() != null) {
+                config.set("kingdomId", player.getKingdomId().toString());
             }
             
-            // Save profession levels
+            // Save profession levels and experience
             for (Profession profession : Profession.values()) {
                 config.set("professions." + profession.name(), player.getProfessionLevel(profession));
+                config.set("professionExperience." + profession.name(), player.getProfessionExperience(profession));
             }
             
             // Save attributes
@@ -96,7 +98,13 @@ public class YamlDatabaseProvider implements DatabaseProvider {
                 config.set("attributes." + attribute.name(), player.getAttribute(attribute));
             }
             
+            // Save activity stats
+            for (PlayerStat stat : PlayerStat.values()) {
+                config.set("stats." + stat.name(), player.getStat(stat));
+            }
+            
             config.save(playerFile);
+            player.markSaved(version);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + player.getPlayerName(), e);
         }
@@ -116,10 +124,11 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             player.setTotalExperience(config.getInt("totalExperience", 0));
             player.setInCombat(config.getBoolean("inCombat", false));
             
-            // Load profession levels
+            // Load profession levels and experience
             for (Profession profession : Profession.values()) {
                 int level = config.getInt("professions." + profession.name(), 1);
                 player.setProfessionLevel(profession, level);
+                player.setProfessionExperience(profession, config.getInt("professionExperience." + profession.name(), 0));
             }
             
             // Load attributes
@@ -128,23 +137,17 @@ public class YamlDatabaseProvider implements DatabaseProvider {
                 player.setAttribute(attribute, value);
             }
             
-            // Restore kingdom reference if exists
+            // Load activity stats
+            for (PlayerStat stat : PlayerStat.values()) {
+                player.setStat(stat, config.getInt("stats." + stat.name(), 0));
+            }
+            
+            // Keep only the kingdom id; loads may run off the main thread, so the Kingdom is attached on join
             if (config.contains("kingdomId")) {
                 String kingdomIdStr = config.getString("kingdomId");
                 if (kingdomIdStr != null && !kingdomIdStr.isEmpty()) {
                     try {
-                        UUID kingdomId = UUID.fromString(kingdomIdStr);
-                        Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
-                        if (kingdom != null) {
-                            player.setKingdom(kingdom);
-                            // Ensure the player is in the kingdom's member list
-                            if (!kingdom.getMembers().contains(playerId)) {
-                                kingdom.addMember(playerId);
-                                plugin.getLogger().info("Re-added player " + playerId + " to kingdom " + kingdom.getName());
-                            }
-                        } else {
-                            plugin.getLogger().warning("Kingdom " + kingdomId + " not found for player " + playerId);
-                        }
+                        player.setKingdomId(UUID.fromString(kingdomIdStr));
                     } catch (IllegalArgumentException e) {
                         plugin.getLogger().warning("Invalid kingdom ID for player " + playerId + ": " + kingdomIdStr);
                     }
@@ -161,6 +164,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     // Kingdom Data Methods
     @Override
     public void saveKingdomData(Kingdom kingdom) {
+        long version = kingdom.getVersion();
         try {
             File kingdomFile = new File(kingdomsFolder, kingdom.getKingdomId().toString() + ".yml");
             FileConfiguration config = new YamlConfiguration();
@@ -188,6 +192,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             }
             
             config.save(kingdomFile);
+            kingdom.markSaved(version);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save kingdom data for " + kingdom.getName(), e);
         }
@@ -231,7 +236,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             // Load settings
             if (config.contains("settings")) {
                 for (String key : config.getConfigurationSection("settings").getKeys(false)) {
-                    kingdom.getSettings().put(key, config.get("settings." + key));
+                    kingdom.setSetting(key, config.get("settings." + key));
                 }
             }
             
@@ -278,6 +283,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     // Territory Data Methods
     @Override
     public void saveTerritoryData(Territory territory) {
+        long version = territory.getVersion();
         try {
             File territoryFile = new File(territoriesFolder, territory.getTerritoryId().toString() + ".yml");
             FileConfiguration config = new YamlConfiguration();
@@ -290,11 +296,12 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             config.set("underAttack", territory.isUnderAttack());
             
             // Save chunk coordinates
-            config.set("chunk.world", territory.getChunk().getWorld().getName());
-            config.set("chunk.x", territory.getChunk().getX());
-            config.set("chunk.z", territory.getChunk().getZ());
+            config.set("chunk.world", territory.getWorldName());
+            config.set("chunk.x", territory.getChunkX());
+            config.set("chunk.z", territory.getChunkZ());
             
             config.save(territoryFile);
+            territory.markSaved(version);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save territory data", e);
         }
@@ -318,9 +325,9 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             
             int chunkX = config.getInt("chunk.x");
             int chunkZ = config.getInt("chunk.z");
-            org.bukkit.Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+            ChunkKey chunkKey = ChunkKey.of(world, chunkX, chunkZ);
             
-            Territory territory = new Territory(territoryId, kingdomId, chunk, type);
+            Territory territory = new Territory(territoryId, kingdomId, chunkKey, type);
             territory.setDefenseLevel(config.getInt("defenseLevel", 1));
             territory.setUnderAttack(config.getBoolean("underAttack", false));
             
@@ -528,6 +535,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     // Town Hall Data Methods
     @Override
     public void saveTownHallData(TownHall townHall, UUID kingdomId) {
+        long version = townHall.getVersion();
         try {
             File townHallFile = new File(townHallsFolder, kingdomId.toString() + ".yml");
             FileConfiguration config = new YamlConfiguration();
@@ -548,6 +556,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             }
             
             config.save(townHallFile);
+            townHall.markSaved(version);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save town hall data", e);
         }
@@ -592,6 +601,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     // Nexus Data Methods
     @Override
     public void saveNexusData(Nexus nexus, UUID kingdomId) {
+        long version = nexus.getVersion();
         try {
             File nexusFile = new File(nexusFolder, kingdomId.toString() + ".yml");
             FileConfiguration config = new YamlConfiguration();
@@ -607,6 +617,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             config.set("regenerating", nexus.isRegenerating());
             
             config.save(nexusFile);
+            nexus.markSaved(version);
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save nexus data", e);
         }
@@ -631,9 +642,9 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             nexus.setRegenerating(config.getBoolean("regenerating", false));
             
             // Update defense stats with loaded values
-            nexus.getDefenseStats().put("armor", config.getInt("armor", 0));
-            nexus.getDefenseStats().put("magic_resistance", config.getInt("magicResistance", 0));
-            nexus.getDefenseStats().put("regeneration_rate", config.getInt("regenerationRate", 1));
+            nexus.setDefenseStat("armor", config.getInt("armor", 0));
+            nexus.setDefenseStat("magic_resistance", config.getInt("magicResistance", 0));
+            nexus.setDefenseStat("regeneration_rate", config.getInt("regenerationRate", 1));
             
             return nexus;
         } catch (Exception e) {
@@ -644,32 +655,40 @@ public class YamlDatabaseProvider implements DatabaseProvider {
     
     @Override
     public void saveAll() {
-        plugin.getLogger().info("Saving all YAML data...");
+        plugin.getLogger().info("Saving changed YAML data...");
+        
+        int players = 0;
+        int kingdoms = 0;
+        int townHalls = 0;
+        int nexuses = 0;
+        int territories = 0;
         
-        // Save all player data
+        // Save player data changed since the last flush
         if (plugin.getPlayerDataManager() != null) {
             for (FeudalPlayer player : plugin.getPlayerDataManager().getAllPlayers().values()) {
-                savePlayerData(player);
+                if (player.saveIfDirty(() -> savePlayerData(player))) players++;
             }
         }
         
-        // Save all kingdom data
+        // Save changed kingdom data
         if (plugin.getKingdomManager() != null) {
             for (Kingdom kingdom : plugin.getKingdomManager().getAllKingdoms()) {
-                saveKingdomData(kingdom);
+                if (kingdom.saveIfDirty(() -> saveKingdomData(kingdom))) kingdoms++;
                 
                 // Save town hall and nexus data
-                if (kingdom.getTownHall() != null) {
-                    saveTownHallData(kingdom.getTownHall(), kingdom.getKingdomId());
+                TownHall townHall = kingdom.getTownHall();
+                if (townHall != null && townHall.saveIfDirty(() -> saveTownHallData(townHall, kingdom.getKingdomId()))) {
+                    townHalls++;
                 }
-                if (kingdom.getNexus() != null) {
-                    saveNexusData(kingdom.getNexus(), kingdom.getKingdomId());
+                Nexus nexus = kingdom.getNexus();
+                if (nexus != null && nexus.saveIfDirty(() -> saveNexusData(nexus, kingdom.getKingdomId()))) {
+                    nexuses++;
                 }
             }
             
-            // Save all territories
+            // Save changed territories
             for (Territory territory : plugin.getKingdomManager().getAllTerritories()) {
-                saveTerritoryData(territory);
+                if (territory.saveIfDirty(() -> saveTerritoryData(territory))) territories++;
             }
         }
         
@@ -680,6 +699,7 @@ public class YamlDatabaseProvider implements DatabaseProvider {
             }
         }
         
-        plugin.getLogger().info("All YAML data saved successfully.");
+        plugin.getLogger().info(String.format("YAML save wrote %d players, %d kingdoms, %d town halls, %d nexus, %d territories",
+                players, kingdoms, townHalls, nexuses, territories));
     }
 }
@@ -4,10 +4,14 @@ import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.gui.BaseGUI;
 import dev.minefaze.feudal.gui.ItemBuilder;
 import dev.minefaze.feudal.models.FeudalPlayer;
+import dev.minefaze.feudal.models.PlayerStat;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class MainMenuGUI extends BaseGUI {
     
     public MainMenuGUI(Feudal plugin, Player player) {
@@ -20,18 +24,25 @@ public class MainMenuGUI extends BaseGUI {
         ItemStack filler = ItemBuilder.createFiller(Material.GRAY_STAINED_GLASS_PANE);
         fillEmpty(filler);
         
+        // Fold in activity that has not been flushed yet, so the stats are current
+        plugin.getActivityTracker().flush(player.getUniqueId());
         FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
         
         // Player stats display (top row)
+        List<String> overview = new ArrayList<>();
+        overview.add("§7Total Experience: §e" + feudalPlayer.getTotalExperience());
+        overview.add("§7Combat Power: §c" + feudalPlayer.getCombatPower());
+        overview.add("§7Kingdom: " + (feudalPlayer.hasKingdom() ? "§a" + feudalPlayer.getKingdom().getName() : "§cNone"));
+        overview.add("");
+        for (PlayerStat stat : PlayerStat.values()) {
+            overview.add("§7" + stat.getDisplayName() + ": §e" + feudalPlayer.getStat(stat));
+        }
+        overview.add("");
+        overview.add("§7Your character overview");
+        
         setItem(4, new ItemBuilder(Material.PLAYER_HEAD)
             .name("§e§l" + player.getName())
-            .lore(
-                "§7Total Experience: §e" + feudalPlayer.getTotalExperience(),
-                "§7Combat Power: §c" + feudalPlayer.getCombatPower(),
-                "§7Kingdom: " + (feudalPlayer.hasKingdom() ? "§a" + feudalPlayer.getKingdom().getName() : "§cNone"),
-                "",
-                "§7Your character overview"
-            )
+            .lore(overview)
             .build());
         
         // Main menu options
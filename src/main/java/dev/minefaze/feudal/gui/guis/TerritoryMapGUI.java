@@ -3,8 +3,10 @@ package dev.minefaze.feudal.gui.guis;
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.gui.BaseGUI;
 import dev.minefaze.feudal.gui.ItemBuilder;
+import dev.minefaze.feudal.managers.ClaimRegions;
 import dev.minefaze.feudal.models.FeudalPlayer;
 import dev.minefaze.feudal.models.Kingdom;
+import dev.minefaze.feudal.models.Relationship;
 import dev.minefaze.feudal.models.Territory;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
@@ -143,6 +145,7 @@ public class TerritoryMapGUI extends BaseGUI {
         FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
         UUID playerKingdomId = feudalPlayer.hasKingdom() ? feudalPlayer.getKingdom().getKingdomId() : null;
         World world = player.getWorld();
+        ClaimRegions regions = plugin.getKingdomManager().getClaimRegions(world);
         
         // Create 5x5 map display - fits in rows 1-4 (slots 11-35)
         for (int row = 0; row < MAP_SIZE; row++) {
@@ -159,8 +162,9 @@ public class TerritoryMapGUI extends BaseGUI {
                 int chunkX = centerX + (col - radius);
                 int chunkZ = centerZ + (row - radius);
                 
-                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
-                Territory territory = plugin.getKingdomManager().getTerritoryAt(chunk.getBlock(8, 64, 8).getLocation());
+                Territory territory = regions.isClaimed(chunkX, chunkZ)
+                    ? plugin.getKingdomManager().getTerritoryAt(world, chunkX, chunkZ)
+                    : null;
                 
                 ItemStack mapItem = createMapItem(territory, playerKingdomId, chunkX, chunkZ);
                 inventory.setItem(slot, mapItem);
@@ -200,21 +204,21 @@ public class TerritoryMapGUI extends BaseGUI {
                 // Check relationships
                 FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
                 if (feudalPlayer.hasKingdom() && kingdom != null) {
-                    String relationship = plugin.getAllianceManager().getRelationshipType(
-                            feudalPlayer.getKingdom(), kingdom);
+                    Relationship relationship = plugin.getAllianceManager().getRelationship(
+                            feudalPlayer.getKingdom().getKingdomId(), kingdom.getKingdomId());
                     
-                    switch (relationship.toUpperCase()) {
-                        case "OWN" -> {
+                    switch (relationship) {
+                        case OWN -> {
                             material = Material.GREEN_CONCRETE;
                             name = "§a" + kingdomName;
                             lore.add("§7Relationship: §a§lYOUR KINGDOM");
                         }
-                        case "ALLY" -> {
+                        case NATION, ALLY -> {
                             material = Material.BLUE_CONCRETE;
                             name = "§b" + kingdomName;
                             lore.add("§7Relationship: §b§lALLY");
                         }
-                        case "ENEMY" -> {
+                        case ENEMY -> {
                             material = Material.RED_CONCRETE;
                             name = "§c" + kingdomName;
                             lore.add("§7Relationship: §c§lENEMY");
@@ -339,14 +343,14 @@ public class TerritoryMapGUI extends BaseGUI {
             
             FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
             if (feudalPlayer.hasKingdom() && territoryKingdom != null) {
-                String relationship = plugin.getAllianceManager().getRelationshipType(
-                        feudalPlayer.getKingdom(), territoryKingdom);
+                Relationship relationship = plugin.getAllianceManager().getRelationship(
+                        feudalPlayer.getKingdom().getKingdomId(), territoryKingdom.getKingdomId());
                 
-                String relationshipDisplay = switch (relationship.toUpperCase()) {
-                    case "OWN" -> "§a§lYOUR KINGDOM";
-                    case "ALLY" -> "§b§lALLY";
-                    case "ENEMY" -> "§c§lENEMY";
-                    default -> "§e§lNEUTRAL";
+                String relationshipDisplay = switch (relationship) {
+                    case OWN -> "§a§lYOUR KINGDOM";
+                    case NATION, ALLY -> "§b§lALLY";
+                    case ENEMY -> "§c§lENEMY";
+                    case NEUTRAL -> "§e§lNEUTRAL";
                 };
                 
                 player.sendMessage("§7Relationship: " + relationshipDisplay);
@@ -135,6 +135,14 @@ public class TownHallSelectionGUI extends BaseGUI {
         }
         plugin.getLogger().info("GUI: Kingdom name '" + kingdomName + "' is available, proceeding with creation");
         
+        // Capitals must keep their distance from existing ones
+        Kingdom nearbyKingdom = plugin.getKingdomManager().getCapitalConflict(player.getLocation());
+        if (nearbyKingdom != null) {
+            plugin.getMessageManager().sendMessage(player, "townhall.too-close-to-capital", nearbyKingdom.getName(),
+                plugin.getConfig().getInt("kingdoms.min-capital-distance", 500));
+            return;
+        }
+        
         // Create kingdom with 3x3 chunk claiming
         Kingdom kingdom = plugin.getKingdomManager().createKingdomWithTownHall(
             kingdomName, 
@@ -82,12 +82,14 @@ public class PlayerListener implements Listener {
         
         // Award profession experience for mining
         if (isMiningBlock(block.getType())) {
-            plugin.getPlayerDataManager().addExperience(player.getUniqueId(), Profession.MINER, 5);
+            plugin.getActivityTracker().recordExperience(player.getUniqueId(), Profession.MINER, 5);
+            plugin.getActivityTracker().recordStat(player.getUniqueId(), PlayerStat.BLOCKS_MINED);
         }
         
         // Award profession experience for farming
         if (isFarmingBlock(block.getType())) {
-            plugin.getPlayerDataManager().addExperience(player.getUniqueId(), Profession.FARMER, 3);
+            plugin.getActivityTracker().recordExperience(player.getUniqueId(), Profession.FARMER, 3);
+            plugin.getActivityTracker().recordStat(player.getUniqueId(), PlayerStat.BLOCKS_FARMED);
         }
     }
     
@@ -121,14 +123,16 @@ public class PlayerListener implements Listener {
             return;
         }
         
+        plugin.getActivityTracker().recordStat(player.getUniqueId(), PlayerStat.BLOCKS_PLACED);
+        
         // Award profession experience for building
         if (isBuildingBlock(block.getType())) {
-            plugin.getPlayerDataManager().addExperience(player.getUniqueId(), Profession.BUILDER, 2);
+            plugin.getActivityTracker().recordExperience(player.getUniqueId(), Profession.BUILDER, 2);
         }
         
         // Award profession experience for farming
         if (isFarmingBlock(block.getType())) {
-            plugin.getPlayerDataManager().addExperience(player.getUniqueId(), Profession.FARMER, 2);
+            plugin.getActivityTracker().recordExperience(player.getUniqueId(), Profession.FARMER, 2);
         }
     }
     
@@ -2,12 +2,11 @@ package dev.minefaze.feudal.listeners;
 
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.models.*;
-import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,7 +15,7 @@ import java.util.UUID;
 public class TerritoryListener implements Listener {
     
     private final Feudal plugin;
-    private final Map<UUID, Chunk> lastPlayerChunk;
+    private final Map<UUID, ChunkKey> lastPlayerChunk;
     
     public TerritoryListener(Feudal plugin) {
         this.plugin = plugin;
@@ -26,16 +25,16 @@ public class TerritoryListener implements Listener {
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
         Player player = event.getPlayer();
-        Chunk currentChunk = player.getLocation().getChunk();
+        Location location = player.getLocation();
         
         // Check if player moved to a different chunk
-        Chunk lastChunk = lastPlayerChunk.get(player.getUniqueId());
-        if (lastChunk != null && lastChunk.equals(currentChunk)) {
+        ChunkKey lastChunk = lastPlayerChunk.get(player.getUniqueId());
+        if (lastChunk != null && lastChunk.contains(location)) {
             return; // Still in same chunk
         }
         
         // Update last chunk
-        lastPlayerChunk.put(player.getUniqueId(), currentChunk);
+        lastPlayerChunk.put(player.getUniqueId(), ChunkKey.of(location));
         
         // Check territory information
         Territory territory = plugin.getKingdomManager().getTerritoryAt(player.getLocation());
@@ -64,21 +63,18 @@ public class TerritoryListener implements Listener {
         
         // Show additional info for first entry or important territories
         if (territory.getType() == TerritoryType.CAPITAL || 
-            (playerKingdomId != null && plugin.getAllianceManager().areEnemies(playerKingdomId, territory.getKingdomId()))) {
+            plugin.getAllianceManager().getRelationship(playerKingdomId, territory.getKingdomId()) == Relationship.ENEMY) {
             
             // Delayed message to avoid spam
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (player.isOnline() && player.getLocation().getChunk().equals(territory.getChunk())) {
-                        if (territory.getType() == TerritoryType.CAPITAL) {
-                            plugin.getMessageManager().sendMessage(player, "territory.entered-capital", kingdom.getName());
-                        } else {
-                            plugin.getMessageManager().sendMessage(player, "territory.entered-enemy", kingdom.getName());
-                        }
+            plugin.getDeadlineScheduler().schedule(20L, () -> { // 1 second delay
+                if (player.isOnline() && territory.getChunkKey().contains(player.getLocation())) {
+                    if (territory.getType() == TerritoryType.CAPITAL) {
+                        plugin.getMessageManager().sendMessage(player, "territory.entered-capital", kingdom.getName());
+                    } else {
+                        plugin.getMessageManager().sendMessage(player, "territory.entered-enemy", kingdom.getName());
                     }
                 }
-            }.runTaskLater(plugin, 20L); // 1 second delay
+            });
         }
     }
     
@@ -91,28 +87,13 @@ public class TerritoryListener implements Listener {
             return "§e"; // Neutral for non-kingdom players
         }
         
-        // Own territory
-        if (territoryOwnerId.equals(playerKingdomId)) {
-            return "§a§l[YOUR KINGDOM] §a";
-        }
-        
-        // Nation ally
-        if (plugin.getAllianceManager().areNationAllies(playerKingdomId, territoryOwnerId)) {
-            return "§b§l[NATION ALLY] §b";
-        }
-        
-        // Direct ally
-        if (plugin.getAllianceManager().areAllies(playerKingdomId, territoryOwnerId)) {
-            return "§9§l[ALLY] §9";
-        }
-        
-        // Enemy
-        if (plugin.getAllianceManager().areEnemies(playerKingdomId, territoryOwnerId)) {
-            return "§c§l[ENEMY] §c";
-        }
-        
-        // Neutral
-        return "§e§l[NEUTRAL] §e";
+        return switch (plugin.getAllianceManager().getRelationship(playerKingdomId, territoryOwnerId)) {
+            case OWN -> "§a§l[YOUR KINGDOM] §a";
+            case NATION -> "§b§l[NATION ALLY] §b";
+            case ALLY -> "§9§l[ALLY] §9";
+            case ENEMY -> "§c§l[ENEMY] §c";
+            case NEUTRAL -> "§e§l[NEUTRAL] §e";
+        };
     }
     
     private String getTerritoryTypeInfo(TerritoryType type) {
@@ -0,0 +1,121 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.Feudal;
+import dev.minefaze.feudal.models.FeudalPlayer;
+import dev.minefaze.feudal.models.PlayerStat;
+import dev.minefaze.feudal.models.Profession;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Per-player accumulator for profession experience and activity stats.
+ * Event handlers only bump atomic counters; a periodic pass on the main thread folds them into
+ * FeudalPlayer, resolves level-ups and queues one save per changed player.
+ */
+public class ActivityTracker {
+    
+    private static final Profession[] PROFESSIONS = Profession.values();
+    private static final PlayerStat[] STATS = PlayerStat.values();
+    
+    private final Feudal plugin;
+    private final Map<UUID, Activity> activities;
+    private BukkitRunnable flushTask;
+    
+    public ActivityTracker(Feudal plugin) {
+        this.plugin = plugin;
+        this.activities = new ConcurrentHashMap<>();
+        startFlushTask();
+    }
+    
+    // Event path
+    public void recordExperience(UUID playerId, Profession profession, int experience) {
+        activity(playerId).experience.addAndGet(profession.ordinal(), experience);
+    }
+    
+    public void recordStat(UUID playerId, PlayerStat stat) {
+        activity(playerId).stats.incrementAndGet(stat.ordinal());
+    }
+    
+    private Activity activity(UUID playerId) {
+        return activities.computeIfAbsent(playerId, id -> new Activity());
+    }
+    
+    // Flushing, main thread only
+    private void startFlushTask() {
+        long interval = Math.max(1L, plugin.getConfig().getLong("performance.activity-flush-interval", 100L));
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flushAll();
+            }
+        };
+        flushTask.runTaskTimer(plugin, interval, interval);
+    }
+    
+    public void flushAll() {
+        for (UUID playerId : activities.keySet()) {
+            flush(playerId);
+        }
+    }
+    
+    /**
+     * Fold a player's pending activity into their data, e.g. before showing stats or unloading them
+     */
+    public void flush(UUID playerId) {
+        Activity activity = activities.get(playerId);
+        if (activity == null) return;
+        
+        FeudalPlayer player = plugin.getPlayerDataManager().getPlayer(playerId);
+        if (player == null) {
+            // Nothing to fold into; the player was unloaded without a final flush
+            activities.remove(playerId);
+            return;
+        }
+        
+        boolean changed = false;
+        for (Profession profession : PROFESSIONS) {
+            int experience = activity.experience.getAndSet(profession.ordinal(), 0);
+            if (experience != 0) {
+                plugin.getPlayerDataManager().addExperience(playerId, profession, experience);
+                changed = true;
+            }
+        }
+        for (PlayerStat stat : STATS) {
+            int count = activity.stats.getAndSet(stat.ordinal(), 0);
+            if (count != 0) {
+                player.addStat(stat, count);
+                changed = true;
+            }
+        }
+        
+        if (changed) {
+            plugin.getPlayerDataManager().savePlayer(player);
+        }
+    }
+    
+    /**
+     * Flush and forget a player who is leaving
+     */
+    public void flushAndRemove(UUID playerId) {
+        flush(playerId);
+        activities.remove(playerId);
+    }
+    
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flushAll();
+        activities.clear();
+    }
+    
+    private static final class Activity {
+        private final AtomicIntegerArray experience = new AtomicIntegerArray(PROFESSIONS.length);
+        private final AtomicIntegerArray stats = new AtomicIntegerArray(STATS.length);
+    }
+}
@@ -2,22 +2,32 @@ package dev.minefaze.feudal.managers;
 
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.models.*;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class AllianceManager {
     
     private final Feudal plugin;
     private final Map<UUID, Alliance> alliances;
+    // Active alliances by kingdom pair: each pair is stored under both kingdoms, so (a, b) and (b, a)
+    // resolve to the same entry without building a key. The inner maps double as adjacency lists.
+    private final Map<UUID, Map<UUID, Alliance>> alliancesByKingdom;
     private final Map<UUID, Nation> nations;
     private final Map<UUID, UUID> kingdomToNation; // Kingdom ID -> Nation ID
     
+    // Relationship bitsets indexed by kingdom handle. Every alliance or nation change bumps the epoch,
+    // and a matrix built for an older epoch is rebuilt on its next lookup.
+    private final AtomicLong diplomacyEpoch = new AtomicLong();
+    private final Object matrixLock = new Object();
+    private volatile RelationshipMatrix relationshipMatrix = new RelationshipMatrix(-1L, 0);
+    
     public AllianceManager(Feudal plugin) {
         this.plugin = plugin;
-        this.alliances = new HashMap<>();
+        this.alliances = new ConcurrentHashMap<>();
+        this.alliancesByKingdom = new ConcurrentHashMap<>();
         this.nations = new HashMap<>();
         this.kingdomToNation = new HashMap<>();
     }
@@ -29,11 +39,14 @@ public class AllianceManager {
         if (existing != null) {
             existing.setType(type);
             existing.setActive(true);
+            bumpDiplomacyEpoch();
             return existing;
         }
         
         Alliance alliance = new Alliance(kingdom1Id, kingdom2Id, type);
         alliances.put(alliance.getAllianceId(), alliance);
+        indexAlliance(alliance);
+        bumpDiplomacyEpoch();
         
         // Notify kingdoms
         notifyKingdoms(alliance, "Alliance " + type.getDisplayName() + " established!");
@@ -45,6 +58,8 @@ public class AllianceManager {
         Alliance alliance = getAlliance(kingdom1Id, kingdom2Id);
         if (alliance != null) {
             alliance.setActive(false);
+            unindexAlliance(alliance);
+            bumpDiplomacyEpoch();
             notifyKingdoms(alliance, "Alliance dissolved!");
             return true;
         }
@@ -52,20 +67,44 @@ public class AllianceManager {
     }
     
     public Alliance getAlliance(UUID kingdom1Id, UUID kingdom2Id) {
-        return alliances.values().stream()
-            .filter(alliance -> alliance.involvesKingdom(kingdom1Id) && alliance.involvesKingdom(kingdom2Id))
-            .filter(Alliance::isActive)
-            .findFirst()
-            .orElse(null);
+        Map<UUID, Alliance> kingdomAlliances = alliancesByKingdom.get(kingdom1Id);
+        if (kingdomAlliances == null) return null;
+        
+        Alliance alliance = kingdomAlliances.get(kingdom2Id);
+        return alliance != null && alliance.isActive() ? alliance : null;
     }
     
     public List<Alliance> getKingdomAlliances(UUID kingdomId) {
-        return alliances.values().stream()
-            .filter(alliance -> alliance.involvesKingdom(kingdomId))
+        Map<UUID, Alliance> kingdomAlliances = alliancesByKingdom.get(kingdomId);
+        if (kingdomAlliances == null) return new ArrayList<>();
+        
+        return kingdomAlliances.values().stream()
             .filter(Alliance::isActive)
             .collect(Collectors.toList());
     }
     
+    private void indexAlliance(Alliance alliance) {
+        alliancesByKingdom.computeIfAbsent(alliance.getKingdom1Id(), id -> new ConcurrentHashMap<>())
+            .put(alliance.getKingdom2Id(), alliance);
+        alliancesByKingdom.computeIfAbsent(alliance.getKingdom2Id(), id -> new ConcurrentHashMap<>())
+            .put(alliance.getKingdom1Id(), alliance);
+    }
+    
+    private void unindexAlliance(Alliance alliance) {
+        unindexAlliance(alliance.getKingdom1Id(), alliance.getKingdom2Id(), alliance);
+        unindexAlliance(alliance.getKingdom2Id(), alliance.getKingdom1Id(), alliance);
+    }
+    
+    private void unindexAlliance(UUID kingdomId, UUID otherKingdomId, Alliance alliance) {
+        Map<UUID, Alliance> kingdomAlliances = alliancesByKingdom.get(kingdomId);
+        if (kingdomAlliances != null) {
+            kingdomAlliances.remove(otherKingdomId, alliance);
+            if (kingdomAlliances.isEmpty()) {
+                alliancesByKingdom.remove(kingdomId);
+            }
+        }
+    }
+    
     public boolean areAllies(UUID kingdom1Id, UUID kingdom2Id) {
         Alliance alliance = getAlliance(kingdom1Id, kingdom2Id);
         return alliance != null && alliance.isAlly();
@@ -86,6 +125,7 @@ public class AllianceManager {
         Nation nation = new Nation(name, leaderKingdomId);
         nations.put(nation.getNationId(), nation);
         kingdomToNation.put(leaderKingdomId, nation.getNationId());
+        bumpDiplomacyEpoch();
         
         // Notify kingdom
         Kingdom kingdom = plugin.getKingdomManager().getKingdom(leaderKingdomId);
@@ -105,6 +145,7 @@ public class AllianceManager {
         
         if (nation.addKingdom(kingdomId)) {
             kingdomToNation.put(kingdomId, nationId);
+            bumpDiplomacyEpoch();
             
             // Notify both kingdoms
             Kingdom joiningKingdom = plugin.getKingdomManager().getKingdom(kingdomId);
@@ -132,6 +173,7 @@ public class AllianceManager {
         
         if (nation.removeKingdom(kingdomId)) {
             kingdomToNation.remove(kingdomId);
+            bumpDiplomacyEpoch();
             
             Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
             if (kingdom != null) {
@@ -156,6 +198,7 @@ public class AllianceManager {
         for (UUID kingdomId : nation.getMemberKingdomIds()) {
             kingdomToNation.remove(kingdomId);
         }
+        bumpDiplomacyEpoch();
         
         notifyNation(nation, "§c§lNation Dissolved! §7" + nation.getName() + " has been disbanded.");
         
@@ -169,75 +212,137 @@ public class AllianceManager {
         return nationId != null ? nations.get(nationId) : null;
     }
     
-    public boolean areNationAllies(UUID kingdom1Id, UUID kingdom2Id) {
-        Nation nation1 = getKingdomNation(kingdom1Id);
-        Nation nation2 = getKingdomNation(kingdom2Id);
+    /**
+     * Resolve how the first kingdom stands towards the second.
+     * Both kingdoms are mapped to their handles and answered with bit tests on the relationship matrix.
+     */
+    public Relationship getRelationship(UUID kingdom1Id, UUID kingdom2Id) {
+        if (kingdom1Id == null || kingdom2Id == null) return Relationship.NEUTRAL;
+        if (kingdom1Id.equals(kingdom2Id)) return Relationship.OWN;
         
-        // Same nation = allies
-        if (nation1 != null && nation2 != null && nation1.equals(nation2)) {
-            return true;
-        }
+        RelationshipMatrix matrix = currentMatrix();
+        KingdomHandles handles = plugin.getKingdomManager().getKingdomHandles();
+        return matrix.resolve(handles.handleOf(kingdom1Id), handles.handleOf(kingdom2Id));
+    }
+    
+    /**
+     * Resolve a relationship by kingdom handle, see {@link KingdomHandles}
+     */
+    public Relationship getRelationship(int kingdom1Handle, int kingdom2Handle) {
+        if (kingdom1Handle < 0 || kingdom2Handle < 0) return Relationship.NEUTRAL;
+        if (kingdom1Handle == kingdom2Handle) return Relationship.OWN;
         
-        // Check direct alliance
-        return areAllies(kingdom1Id, kingdom2Id);
+        return currentMatrix().resolve(kingdom1Handle, kingdom2Handle);
     }
     
-    public boolean canPvP(UUID kingdom1Id, UUID kingdom2Id) {
-        // Cannot PvP with nation allies
-        if (areNationAllies(kingdom1Id, kingdom2Id)) return false;
+    /** Incremented on every alliance or nation change */
+    public long getDiplomacyEpoch() {
+        return diplomacyEpoch.get();
+    }
+    
+    private void bumpDiplomacyEpoch() {
+        diplomacyEpoch.incrementAndGet();
+    }
+    
+    /**
+     * Rebuild the relationship matrix on next use, e.g. after a kingdom handle was released
+     */
+    public void invalidateRelationships() {
+        bumpDiplomacyEpoch();
+    }
+    
+    private RelationshipMatrix currentMatrix() {
+        // Read the epoch before building: a change racing with us bumps it afterwards
+        long epoch = diplomacyEpoch.get();
+        RelationshipMatrix matrix = relationshipMatrix;
+        if (matrix.epoch >= epoch) return matrix;
+        
+        synchronized (matrixLock) {
+            matrix = relationshipMatrix;
+            if (matrix.epoch >= epoch) return matrix;
+            
+            matrix = buildMatrix(epoch);
+            relationshipMatrix = matrix;
+            return matrix;
+        }
+    }
+    
+    private RelationshipMatrix buildMatrix(long epoch) {
+        KingdomHandles handles = plugin.getKingdomManager().getKingdomHandles();
         
-        // Cannot PvP with direct allies
-        if (areAllies(kingdom1Id, kingdom2Id)) return false;
+        // Only loaded kingdoms have handles; relations of deleted kingdoms are left out
+        List<int[]> allyPairs = new ArrayList<>();
+        List<int[]> enemyPairs = new ArrayList<>();
+        for (Alliance alliance : alliances.values()) {
+            if (!alliance.isActive()) continue;
+            int[] pair = {handles.handleOf(alliance.getKingdom1Id()), handles.handleOf(alliance.getKingdom2Id())};
+            if (pair[0] == KingdomHandles.NONE || pair[1] == KingdomHandles.NONE) continue;
+            if (alliance.isAlly()) {
+                allyPairs.add(pair);
+            } else if (alliance.isEnemy()) {
+                enemyPairs.add(pair);
+            }
+        }
+        List<int[]> nationMembers = new ArrayList<>();
+        for (Nation nation : nations.values()) {
+            if (!nation.isActive()) continue;
+            nationMembers.add(nation.getMemberKingdomIds().stream()
+                .mapToInt(handles::handleOf)
+                .filter(handle -> handle != KingdomHandles.NONE)
+                .toArray());
+        }
         
-        return true;
+        RelationshipMatrix matrix = new RelationshipMatrix(epoch, handles.size());
+        for (int[] members : nationMembers) {
+            for (int member : members) {
+                for (int other : members) {
+                    matrix.set(matrix.nations, member, other);
+                }
+            }
+        }
+        for (int[] pair : allyPairs) {
+            matrix.set(matrix.allies, pair[0], pair[1]);
+            matrix.set(matrix.allies, pair[1], pair[0]);
+        }
+        for (int[] pair : enemyPairs) {
+            matrix.set(matrix.enemies, pair[0], pair[1]);
+            matrix.set(matrix.enemies, pair[1], pair[0]);
+        }
+        return matrix;
+    }
+    
+    public boolean areNationAllies(UUID kingdom1Id, UUID kingdom2Id) {
+        // Same nation or direct alliance
+        return getRelationship(kingdom1Id, kingdom2Id).isAllied();
+    }
+    
+    public boolean canPvP(UUID kingdom1Id, UUID kingdom2Id) {
+        // Cannot PvP with nation allies or direct allies
+        return !getRelationship(kingdom1Id, kingdom2Id).isAllied();
     }
     
     public boolean areAtWar(Kingdom kingdom1, Kingdom kingdom2) {
         if (kingdom1 == null || kingdom2 == null) return false;
         
-        UUID kingdom1Id = kingdom1.getKingdomId();
-        UUID kingdom2Id = kingdom2.getKingdomId();
-        
-        // Cannot be at war with yourself
-        if (kingdom1Id.equals(kingdom2Id)) return false;
-        
-        // At war if they are enemies OR if they can PvP (not allies)
-        return areEnemies(kingdom1Id, kingdom2Id) || canPvP(kingdom1Id, kingdom2Id);
+        // At war if they are enemies OR if they can PvP (not allies); never with yourself
+        Relationship relationship = getRelationship(kingdom1.getKingdomId(), kingdom2.getKingdomId());
+        return relationship == Relationship.ENEMY || relationship == Relationship.NEUTRAL;
     }
     
     public boolean canInteractInTerritory(UUID kingdomId, UUID territoryOwnerId) {
-        // Own territory
-        if (kingdomId.equals(territoryOwnerId)) return true;
-        
-        // Nation allies can interact
-        if (areNationAllies(kingdomId, territoryOwnerId)) return true;
-        
-        // Direct allies can interact
-        if (areAllies(kingdomId, territoryOwnerId)) return true;
-        
-        return false;
+        // Own territory, nation allies and direct allies can interact
+        return getRelationship(kingdomId, territoryOwnerId).isFriendly();
     }
     
     public String getRelationshipType(Kingdom kingdom1, Kingdom kingdom2) {
         if (kingdom1 == null || kingdom2 == null) return "NEUTRAL";
         
-        UUID kingdom1Id = kingdom1.getKingdomId();
-        UUID kingdom2Id = kingdom2.getKingdomId();
-        
-        // Check if they're the same kingdom
-        if (kingdom1Id.equals(kingdom2Id)) return "OWN";
-        
-        // Check if they're nation allies (same nation or allied nations)
-        if (areNationAllies(kingdom1Id, kingdom2Id)) return "ALLY";
-        
-        // Check direct alliance
-        Alliance alliance = getAlliance(kingdom1Id, kingdom2Id);
-        if (alliance != null && alliance.isActive()) {
-            return alliance.getType().name();
-        }
-        
-        // Default to neutral
-        return "NEUTRAL";
+        return switch (getRelationship(kingdom1.getKingdomId(), kingdom2.getKingdomId())) {
+            case OWN -> "OWN";
+            case NATION, ALLY -> "ALLY";
+            case ENEMY -> "ENEMY";
+            case NEUTRAL -> "NEUTRAL";
+        };
     }
     
     // Notification helpers
@@ -250,25 +355,59 @@ public class AllianceManager {
     }
     
     private void notifyKingdom(Kingdom kingdom, String message) {
-        for (UUID memberId : kingdom.getMembers()) {
-            Player player = Bukkit.getPlayer(memberId);
-            if (player != null) {
-                player.sendMessage("§6§l[Kingdom] §r" + message);
-            }
-        }
+        plugin.getBroadcastManager().messageKingdom(kingdom.getKingdomId(), "§6§l[Kingdom] §r" + message);
     }
     
     private void notifyNation(Nation nation, String message) {
-        for (UUID kingdomId : nation.getMemberKingdomIds()) {
-            Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
-            if (kingdom != null) {
-                notifyKingdom(kingdom, message);
-            }
-        }
+        plugin.getBroadcastManager().messageNation(nation, "§6§l[Kingdom] §r" + message);
     }
     
     // Getters
     public Collection<Alliance> getAllAlliances() { return alliances.values(); }
     public Collection<Nation> getAllNations() { return nations.values(); }
     public Nation getNation(UUID nationId) { return nations.get(nationId); }
+    
+    /**
+     * Ally, enemy and same-nation adjacency bitsets, one row per kingdom handle.
+     * Rows are only allocated for kingdoms with at least one relation of that kind.
+     */
+    private static final class RelationshipMatrix {
+        private final long epoch;
+        private final int words;
+        private final long[][] nations;
+        private final long[][] allies;
+        private final long[][] enemies;
+        
+        private RelationshipMatrix(long epoch, int size) {
+            this.epoch = epoch;
+            this.words = (size + 63) >>> 6;
+            this.nations = new long[size][];
+            this.allies = new long[size][];
+            this.enemies = new long[size][];
+        }
+        
+        private void set(long[][] rows, int from, int to) {
+            if (rows[from] == null) {
+                rows[from] = new long[words];
+            }
+            rows[from][to >>> 6] |= 1L << to;
+        }
+        
+        private static boolean test(long[][] rows, int from, int to) {
+            if (from >= rows.length) return false;
+            long[] row = rows[from];
+            return row != null && (to >>> 6) < row.length && (row[to >>> 6] & (1L << to)) != 0;
+        }
+        
+        private Relationship resolve(int kingdom1Handle, int kingdom2Handle) {
+            if (kingdom1Handle < 0 || kingdom2Handle < 0) return Relationship.NEUTRAL;
+            if (kingdom1Handle == kingdom2Handle) return Relationship.OWN;
+            
+            // Same nation outranks any direct alliance between the two
+            if (test(nations, kingdom1Handle, kingdom2Handle)) return Relationship.NATION;
+            if (test(allies, kingdom1Handle, kingdom2Handle)) return Relationship.ALLY;
+            if (test(enemies, kingdom1Handle, kingdom2Handle)) return Relationship.ENEMY;
+            return Relationship.NEUTRAL;
+        }
+    }
 }
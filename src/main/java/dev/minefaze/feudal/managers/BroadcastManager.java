@@ -0,0 +1,139 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.Feudal;
+import dev.minefaze.feudal.models.Nation;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online members per kingdom and fan-out delivery to them.
+ * The index is updated on join, quit and kingdom membership changes, so an audience is resolved
+ * without looking up offline members; nations are resolved through their member kingdoms.
+ */
+public class BroadcastManager {
+    
+    private final Feudal plugin;
+    // Online players per kingdom ID, and the kingdom each online player is indexed under
+    private final Map<UUID, Set<Player>> onlineByKingdom;
+    private final Map<UUID, UUID> kingdomByPlayer;
+    
+    public BroadcastManager(Feudal plugin) {
+        this.plugin = plugin;
+        this.onlineByKingdom = new ConcurrentHashMap<>();
+        this.kingdomByPlayer = new ConcurrentHashMap<>();
+    }
+    
+    // Index maintenance
+    /**
+     * Track an online player under a kingdom, or under none when kingdomId is null
+     */
+    public void trackPlayer(Player player, UUID kingdomId) {
+        UUID previous = kingdomId != null
+            ? kingdomByPlayer.put(player.getUniqueId(), kingdomId)
+            : kingdomByPlayer.remove(player.getUniqueId());
+        if (previous != null && !previous.equals(kingdomId)) {
+            removeFromKingdom(previous, player.getUniqueId());
+        }
+        if (kingdomId != null) {
+            onlineByKingdom.computeIfAbsent(kingdomId, id -> ConcurrentHashMap.newKeySet()).add(player);
+        }
+    }
+    
+    /**
+     * Update the index after a player joined or left a kingdom; offline players are ignored
+     */
+    public void updateMembership(UUID playerId, UUID kingdomId) {
+        Player player = plugin.getServer().getPlayer(playerId);
+        if (player != null && player.isOnline()) {
+            trackPlayer(player, kingdomId);
+        } else {
+            untrackPlayer(playerId);
+        }
+    }
+    
+    public void untrackPlayer(UUID playerId) {
+        UUID kingdomId = kingdomByPlayer.remove(playerId);
+        if (kingdomId != null) {
+            removeFromKingdom(kingdomId, playerId);
+        }
+    }
+    
+    private void removeFromKingdom(UUID kingdomId, UUID playerId) {
+        onlineByKingdom.computeIfPresent(kingdomId, (id, online) -> {
+            online.removeIf(player -> player.getUniqueId().equals(playerId));
+            return online.isEmpty() ? null : online;
+        });
+    }
+    
+    // Audiences
+    /** Online members of a kingdom, as a read-only live view */
+    public Collection<Player> getOnlineMembers(UUID kingdomId) {
+        Set<Player> online = onlineByKingdom.get(kingdomId);
+        return online != null ? Collections.unmodifiableSet(online) : Collections.emptySet();
+    }
+    
+    public int getOnlineCount(UUID kingdomId) {
+        Set<Player> online = onlineByKingdom.get(kingdomId);
+        return online != null ? online.size() : 0;
+    }
+    
+    /** Online members of every kingdom in a nation */
+    public List<Player> getOnlineNationMembers(Nation nation) {
+        List<Player> audience = new ArrayList<>();
+        for (UUID kingdomId : nation.getMemberKingdomIds()) {
+            Set<Player> online = onlineByKingdom.get(kingdomId);
+            if (online != null) {
+                audience.addAll(online);
+            }
+        }
+        return audience;
+    }
+    
+    // Delivery, each message is formatted once and sent in a single pass
+    public void sendMessage(Collection<Player> audience, String message) {
+        for (Player player : audience) {
+            player.sendMessage(message);
+        }
+    }
+    
+    /**
+     * Send a language file message to an audience
+     */
+    public void sendLocalizedMessage(Collection<Player> audience, String key, Object... args) {
+        if (audience.isEmpty()) return;
+        sendMessage(audience, plugin.getMessageManager().getMessage(key, args));
+    }
+    
+    public void sendActionBar(Collection<Player> audience, String message) {
+        for (Player player : audience) {
+            player.sendActionBar(message);
+        }
+    }
+    
+    public void sendTitle(Collection<Player> audience, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        for (Player player : audience) {
+            player.sendTitle(title, subtitle, fadeIn, stay, fadeOut);
+        }
+    }
+    
+    // Kingdom and nation shortcuts
+    public void messageKingdom(UUID kingdomId, String message) {
+        sendMessage(getOnlineMembers(kingdomId), message);
+    }
+    
+    public void sendKingdomMessage(UUID kingdomId, String key, Object... args) {
+        sendLocalizedMessage(getOnlineMembers(kingdomId), key, args);
+    }
+    
+    public void messageNation(Nation nation, String message) {
+        sendMessage(getOnlineNationMembers(nation), message);
+    }
+}
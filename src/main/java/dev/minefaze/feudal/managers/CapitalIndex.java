@@ -0,0 +1,262 @@
+package dev.minefaze.feudal.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform grid of kingdom capitals per world for radius and nearest-k queries.
+ * Distances are horizontal (x/z) and compared squared, so queries never take a square root.
+ * Updates are expected to be serialized by KingdomManager; queries are safe from any thread.
+ */
+public final class CapitalIndex {
+    
+    private final int cellSize;
+    private final Map<UUID, WorldGrid> gridsByWorld;
+    private final Map<UUID, Capital> capitalsByKingdom;
+    
+    public CapitalIndex(int cellSize) {
+        this.cellSize = Math.max(16, cellSize);
+        this.gridsByWorld = new ConcurrentHashMap<>();
+        this.capitalsByKingdom = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Add or move a kingdom's capital; a null location removes it
+     */
+    public void update(UUID kingdomId, Location capital) {
+        remove(kingdomId);
+        if (capital == null || capital.getWorld() == null) {
+            return;
+        }
+        
+        Capital entry = new Capital(kingdomId, capital.getWorld().getUID(), capital.getX(), capital.getZ());
+        capitalsByKingdom.put(kingdomId, entry);
+        gridsByWorld.computeIfAbsent(entry.worldId, id -> new WorldGrid()).add(cell(entry.x), cell(entry.z), entry);
+    }
+    
+    public void remove(UUID kingdomId) {
+        Capital entry = capitalsByKingdom.remove(kingdomId);
+        if (entry == null) {
+            return;
+        }
+        
+        WorldGrid grid = gridsByWorld.get(entry.worldId);
+        if (grid != null) {
+            grid.remove(cell(entry.x), cell(entry.z), entry);
+        }
+    }
+    
+    public void clear() {
+        gridsByWorld.clear();
+        capitalsByKingdom.clear();
+    }
+    
+    /**
+     * Kingdoms whose capital lies within the radius of a location
+     */
+    public List<UUID> findWithin(Location location, double radius) {
+        List<UUID> result = new ArrayList<>();
+        WorldGrid grid = gridFor(location);
+        if (grid == null || radius < 0) {
+            return result;
+        }
+        
+        double x = location.getX();
+        double z = location.getZ();
+        double radiusSquared = radius * radius;
+        for (int cx = cell(x - radius); cx <= cell(x + radius); cx++) {
+            for (int cz = cell(z - radius); cz <= cell(z + radius); cz++) {
+                Set<Capital> cellEntries = grid.cells.get(cellKey(cx, cz));
+                if (cellEntries == null) continue;
+                for (Capital capital : cellEntries) {
+                    if (capital.distanceSquared(x, z) <= radiusSquared) {
+                        result.add(capital.kingdomId);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * The closest capital within the radius, or null if there is none
+     */
+    public UUID findClosestWithin(Location location, double radius) {
+        List<UUID> nearest = findNearest(location, 1, radius);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+    
+    /**
+     * Up to k kingdoms ordered by capital distance, searched ring by ring outwards from the location
+     */
+    public List<UUID> findNearest(Location location, int k) {
+        return findNearest(location, k, Double.MAX_VALUE);
+    }
+    
+    private List<UUID> findNearest(Location location, int k, double maxDistance) {
+        List<UUID> result = new ArrayList<>();
+        WorldGrid grid = gridFor(location);
+        if (grid == null || k <= 0 || grid.cells.isEmpty()) {
+            return result;
+        }
+        
+        double x = location.getX();
+        double z = location.getZ();
+        double maxSquared = maxDistance == Double.MAX_VALUE ? Double.MAX_VALUE : maxDistance * maxDistance;
+        int centerX = cell(x);
+        int centerZ = cell(z);
+        
+        // Max-heap of the best k candidates so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.distanceSquared).reversed());
+        int lastRing = grid.maxRingFrom(centerX, centerZ);
+        
+        for (int ring = 0; ring <= lastRing; ring++) {
+            // Anything in this ring or beyond is at least this far away
+            double ringDistance = Math.max(0, ring - 1) * (double) cellSize;
+            double ringSquared = ringDistance * ringDistance;
+            if (ringSquared > maxSquared) break;
+            if (best.size() == k && ringSquared > best.peek().distanceSquared) break;
+            
+            // Once a ring has more cells than the world has occupied ones, scan the occupied cells directly
+            if (8L * ring > grid.cells.size()) {
+                for (Map.Entry<Long, Set<Capital>> cellEntry : grid.cells.entrySet()) {
+                    long key = cellEntry.getKey();
+                    int cellRing = Math.max(Math.abs((int) key - centerX), Math.abs((int) (key >> 32) - centerZ));
+                    if (cellRing >= ring) {
+                        offer(best, k, cellEntry.getValue(), x, z, maxSquared);
+                    }
+                }
+                break;
+            }
+            
+            if (ring == 0) {
+                offer(best, k, grid.cells.get(cellKey(centerX, centerZ)), x, z, maxSquared);
+                continue;
+            }
+            
+            // Walk only the border of the ring, inner cells were visited earlier
+            for (int d = -ring; d <= ring; d++) {
+                offer(best, k, grid.cells.get(cellKey(centerX + d, centerZ - ring)), x, z, maxSquared);
+                offer(best, k, grid.cells.get(cellKey(centerX + d, centerZ + ring)), x, z, maxSquared);
+            }
+            for (int d = -ring + 1; d < ring; d++) {
+                offer(best, k, grid.cells.get(cellKey(centerX - ring, centerZ + d)), x, z, maxSquared);
+                offer(best, k, grid.cells.get(cellKey(centerX + ring, centerZ + d)), x, z, maxSquared);
+            }
+        }
+        
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(c -> c.distanceSquared));
+        for (Candidate candidate : ordered) {
+            result.add(candidate.kingdomId);
+        }
+        return result;
+    }
+    
+    private static void offer(PriorityQueue<Candidate> best, int k, Set<Capital> cellEntries,
+                              double x, double z, double maxSquared) {
+        if (cellEntries == null) return;
+        for (Capital capital : cellEntries) {
+            double distanceSquared = capital.distanceSquared(x, z);
+            if (distanceSquared > maxSquared) continue;
+            if (best.size() < k) {
+                best.add(new Candidate(capital.kingdomId, distanceSquared));
+            } else if (distanceSquared < best.peek().distanceSquared) {
+                best.poll();
+                best.add(new Candidate(capital.kingdomId, distanceSquared));
+            }
+        }
+    }
+    
+    public int size() { return capitalsByKingdom.size(); }
+    
+    private WorldGrid gridFor(Location location) {
+        World world = location.getWorld();
+        return world != null ? gridsByWorld.get(world.getUID()) : null;
+    }
+    
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+    
+    private static long cellKey(int cellX, int cellZ) {
+        return (cellX & 0xFFFFFFFFL) | ((long) cellZ << 32);
+    }
+    
+    /**
+     * Occupied cells of one world plus the cell bounds ever used, which cap how far a nearest search walks
+     */
+    private static final class WorldGrid {
+        private final Map<Long, Set<Capital>> cells = new ConcurrentHashMap<>();
+        private volatile int minCellX = Integer.MAX_VALUE;
+        private volatile int maxCellX = Integer.MIN_VALUE;
+        private volatile int minCellZ = Integer.MAX_VALUE;
+        private volatile int maxCellZ = Integer.MIN_VALUE;
+        
+        private void add(int cellX, int cellZ, Capital capital) {
+            minCellX = Math.min(minCellX, cellX);
+            maxCellX = Math.max(maxCellX, cellX);
+            minCellZ = Math.min(minCellZ, cellZ);
+            maxCellZ = Math.max(maxCellZ, cellZ);
+            cells.computeIfAbsent(cellKey(cellX, cellZ), key -> ConcurrentHashMap.newKeySet()).add(capital);
+        }
+        
+        private void remove(int cellX, int cellZ, Capital capital) {
+            long key = cellKey(cellX, cellZ);
+            Set<Capital> cellEntries = cells.get(key);
+            if (cellEntries != null) {
+                cellEntries.remove(capital);
+                if (cellEntries.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+        
+        private int maxRingFrom(int cellX, int cellZ) {
+            if (minCellX > maxCellX) return -1;
+            long ring = Math.max(
+                    Math.max(Math.abs((long) minCellX - cellX), Math.abs((long) maxCellX - cellX)),
+                    Math.max(Math.abs((long) minCellZ - cellZ), Math.abs((long) maxCellZ - cellZ)));
+            return (int) Math.min(ring, Integer.MAX_VALUE - 1);
+        }
+    }
+    
+    private static final class Capital {
+        private final UUID kingdomId;
+        private final UUID worldId;
+        private final double x;
+        private final double z;
+        
+        private Capital(UUID kingdomId, UUID worldId, double x, double z) {
+            this.kingdomId = kingdomId;
+            this.worldId = worldId;
+            this.x = x;
+            this.z = z;
+        }
+        
+        private double distanceSquared(double otherX, double otherZ) {
+            double dx = x - otherX;
+            double dz = z - otherZ;
+            return dx * dx + dz * dz;
+        }
+    }
+    
+    private static final class Candidate {
+        private final UUID kingdomId;
+        private final double distanceSquared;
+        
+        private Candidate(UUID kingdomId, double distanceSquared) {
+            this.kingdomId = kingdomId;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
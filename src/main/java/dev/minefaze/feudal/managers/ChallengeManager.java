@@ -15,14 +15,13 @@ public class ChallengeManager {
     private final Feudal plugin;
     private final Map<UUID, Challenge> activeChallenges;
     private final Map<UUID, Set<UUID>> playerChallenges; // playerId -> set of challenge IDs
+    private final Map<UUID, DeadlineScheduler.Timer> expiryTimers; // challengeId -> pending expiry
     
     public ChallengeManager(Feudal plugin) {
         this.plugin = plugin;
         this.activeChallenges = new ConcurrentHashMap<>();
         this.playerChallenges = new ConcurrentHashMap<>();
-        
-        // Start challenge cleanup task
-        startChallengeCleanupTask();
+        this.expiryTimers = new ConcurrentHashMap<>();
     }
     
     public Challenge createChallenge(UUID challengerId, UUID targetId, ChallengeType type, Territory targetTerritory) {
@@ -47,6 +46,7 @@ public class ChallengeManager {
         activeChallenges.put(challenge.getChallengeId(), challenge);
         playerChallenges.computeIfAbsent(challengerId, k -> new HashSet<>()).add(challenge.getChallengeId());
         playerChallenges.computeIfAbsent(targetId, k -> new HashSet<>()).add(challenge.getChallengeId());
+        scheduleExpiry(challenge);
         
         // Update player states
         challenger.setActiveChallenge(challenge);
@@ -110,11 +110,20 @@ public class ChallengeManager {
     }
     
     private void startChallenge(Challenge challenge) {
+        if (challenge.getStatus() != ChallengeStatus.ACCEPTED) return;
+        
         Player challenger = Bukkit.getPlayer(challenge.getChallenger());
         Player target = Bukkit.getPlayer(challenge.getTarget());
         
         if (challenger == null || target == null) return;
         
+        // A player can only fight one challenge at a time; this one starts when the current fight ends
+        if (plugin.getCombatManager().isInCombat(challenge.getChallenger()) || plugin.getCombatManager().isInCombat(challenge.getTarget())) {
+            challenger.sendMessage("§e§lCHALLENGE WAITING! §7It will start once the current fight is over.");
+            target.sendMessage("§e§lCHALLENGE WAITING! §7It will start once the current fight is over.");
+            return;
+        }
+        
         challenge.setStatus(ChallengeStatus.IN_PROGRESS);
         
         // Set battle location (midpoint between players or at territory)
@@ -179,6 +188,8 @@ public class ChallengeManager {
         }
         
         // Remove from active challenges
+        DeadlineScheduler.Timer expiry = expiryTimers.remove(challenge.getChallengeId());
+        if (expiry != null) expiry.cancel();
         activeChallenges.remove(challenge.getChallengeId());
         playerChallenges.getOrDefault(challenge.getChallenger(), new HashSet<>()).remove(challenge.getChallengeId());
         playerChallenges.getOrDefault(challenge.getTarget(), new HashSet<>()).remove(challenge.getChallengeId());
@@ -208,6 +219,13 @@ public class ChallengeManager {
     }
     
     public void handlePlayerLogin(UUID playerId) {
+        startWaitingChallenges(playerId);
+    }
+    
+    /**
+     * Start the player's accepted challenges whose players are both online, e.g. on login or after a fight
+     */
+    public void startWaitingChallenges(UUID playerId) {
         // Check if player has any accepted challenges waiting
         Set<UUID> challengeIds = playerChallenges.getOrDefault(playerId, new HashSet<>());
         for (UUID challengeId : challengeIds) {
@@ -255,25 +273,28 @@ public class ChallengeManager {
         }
     }
     
-    private void startChallengeCleanupTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                cleanupExpiredChallenges();
-            }
-        }.runTaskTimer(plugin, 1200L, 1200L); // Run every minute
+    /**
+     * Expire the challenge at its expiration time unless it is answered first
+     */
+    private void scheduleExpiry(Challenge challenge) {
+        expiryTimers.put(challenge.getChallengeId(),
+            plugin.getDeadlineScheduler().scheduleMillis(challenge.getTimeRemaining(), () -> expireChallenge(challenge)));
     }
     
-    private void cleanupExpiredChallenges() {
-        List<Challenge> expiredChallenges = activeChallenges.values().stream()
-            .filter(Challenge::isExpired)
-            .filter(c -> c.getStatus() == ChallengeStatus.PENDING)
-            .toList();
-        
-        for (Challenge challenge : expiredChallenges) {
-            challenge.setStatus(ChallengeStatus.EXPIRED);
-            completeChallenge(challenge, null);
+    private void expireChallenge(Challenge challenge) {
+        expiryTimers.remove(challenge.getChallengeId());
+        if (challenge.getStatus() != ChallengeStatus.PENDING || !activeChallenges.containsKey(challenge.getChallengeId())) return;
+        
+        // A lagging server runs ticks late, never early, but check the wall clock anyway
+        if (!challenge.isExpired()) {
+            scheduleExpiry(challenge);
+            return;
         }
+        
+        // Complete first; completeChallenge ignores challenges already marked as expired
+        completeChallenge(challenge, null);
+        challenge.setStatus(ChallengeStatus.EXPIRED);
+        plugin.getDataManager().saveChallengeData(challenge);
     }
     
     private void notifyChallenge(Challenge challenge) {
@@ -0,0 +1,216 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.models.ChunkKey;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claimed-chunk bitmaps for one world, split into 32x32 chunk regions.
+ * Each region keeps one 32-bit row mask per chunk row plus the owning kingdom handle per chunk,
+ * so rectangles are answered a word at a time and empty regions are skipped entirely.
+ * Published instances are never modified; KingdomManager copies one, changes the copy and publishes it.
+ */
+public final class ClaimRegions {
+    
+    public static final int REGION_SHIFT = 5;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int REGION_MASK = REGION_SIZE - 1;
+    
+    /** Shared empty instance for worlds without claims */
+    public static final ClaimRegions EMPTY = new ClaimRegions((KingdomHandles) null);
+    
+    private final Map<Long, Region> regions;
+    // Owners are kingdom handles, which are reused. KingdomManager removes a kingdom's claims before it
+    // releases the handle and invalidates the relationship matrix afterwards, so the current snapshot
+    // never holds a released handle
+    private final KingdomHandles handles;
+    // Regions already copied by this writable instance
+    private final Set<Long> copiedRegions;
+    
+    public ClaimRegions(KingdomHandles handles) {
+        this.regions = new HashMap<>();
+        this.handles = handles;
+        this.copiedRegions = new HashSet<>();
+    }
+    
+    /**
+     * Writable copy that shares unchanged regions with the source
+     */
+    public ClaimRegions(ClaimRegions source) {
+        this.regions = new HashMap<>(source.regions);
+        this.handles = source.handles;
+        this.copiedRegions = new HashSet<>();
+    }
+    
+    // Queries
+    public boolean isClaimed(int chunkX, int chunkZ) {
+        Region region = regions.get(regionKey(chunkX, chunkZ));
+        return region != null && (region.rows[chunkZ & REGION_MASK] & (1 << (chunkX & REGION_MASK))) != 0;
+    }
+    
+    /** Handle of the owning kingdom, or {@link KingdomHandles#NONE} if the chunk is unclaimed */
+    public int getOwnerHandle(int chunkX, int chunkZ) {
+        Region region = regions.get(regionKey(chunkX, chunkZ));
+        if (region == null || (region.rows[chunkZ & REGION_MASK] & (1 << (chunkX & REGION_MASK))) == 0) {
+            return KingdomHandles.NONE;
+        }
+        return region.owners[localIndex(chunkX, chunkZ)];
+    }
+    
+    /** Owning kingdom of a chunk, or null if it is unclaimed */
+    public UUID getOwner(int chunkX, int chunkZ) {
+        int handle = getOwnerHandle(chunkX, chunkZ);
+        return handle != KingdomHandles.NONE ? handles.getKingdomId(handle) : null;
+    }
+    
+    /**
+     * Number of claimed chunks in the inclusive rectangle
+     */
+    public int countClaimed(int minX, int minZ, int maxX, int maxZ) {
+        int count = 0;
+        for (int regionX = minX >> REGION_SHIFT; regionX <= maxX >> REGION_SHIFT; regionX++) {
+            for (int regionZ = minZ >> REGION_SHIFT; regionZ <= maxZ >> REGION_SHIFT; regionZ++) {
+                Region region = regions.get(ChunkKey.pack(regionX, regionZ));
+                if (region == null) continue;
+                
+                int baseX = regionX << REGION_SHIFT;
+                int baseZ = regionZ << REGION_SHIFT;
+                int mask = rowMask(Math.max(minX, baseX) - baseX, Math.min(maxX, baseX + REGION_MASK) - baseX);
+                for (int z = Math.max(minZ, baseZ) - baseZ; z <= Math.min(maxZ, baseZ + REGION_MASK) - baseZ; z++) {
+                    count += Integer.bitCount(region.rows[z] & mask);
+                }
+            }
+        }
+        return count;
+    }
+    
+    public boolean anyClaimed(int minX, int minZ, int maxX, int maxZ) {
+        for (int regionX = minX >> REGION_SHIFT; regionX <= maxX >> REGION_SHIFT; regionX++) {
+            for (int regionZ = minZ >> REGION_SHIFT; regionZ <= maxZ >> REGION_SHIFT; regionZ++) {
+                Region region = regions.get(ChunkKey.pack(regionX, regionZ));
+                if (region == null) continue;
+                
+                int baseX = regionX << REGION_SHIFT;
+                int baseZ = regionZ << REGION_SHIFT;
+                int mask = rowMask(Math.max(minX, baseX) - baseX, Math.min(maxX, baseX + REGION_MASK) - baseX);
+                for (int z = Math.max(minZ, baseZ) - baseZ; z <= Math.min(maxZ, baseZ + REGION_MASK) - baseZ; z++) {
+                    if ((region.rows[z] & mask) != 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Visit every claimed chunk in the inclusive rectangle; unclaimed chunks are never touched
+     */
+    public void forEachClaimed(int minX, int minZ, int maxX, int maxZ, ClaimVisitor visitor) {
+        for (int regionX = minX >> REGION_SHIFT; regionX <= maxX >> REGION_SHIFT; regionX++) {
+            for (int regionZ = minZ >> REGION_SHIFT; regionZ <= maxZ >> REGION_SHIFT; regionZ++) {
+                Region region = regions.get(ChunkKey.pack(regionX, regionZ));
+                if (region == null) continue;
+                
+                int baseX = regionX << REGION_SHIFT;
+                int baseZ = regionZ << REGION_SHIFT;
+                int mask = rowMask(Math.max(minX, baseX) - baseX, Math.min(maxX, baseX + REGION_MASK) - baseX);
+                for (int z = Math.max(minZ, baseZ) - baseZ; z <= Math.min(maxZ, baseZ + REGION_MASK) - baseZ; z++) {
+                    int bits = region.rows[z] & mask;
+                    while (bits != 0) {
+                        int x = Integer.numberOfTrailingZeros(bits);
+                        visitor.visit(baseX + x, baseZ + z, region.owners[(z << REGION_SHIFT) | x]);
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+    }
+    
+    public int getRegionCount() { return regions.size(); }
+    
+    // Updates, only valid on a writable copy
+    public void claim(int chunkX, int chunkZ, int ownerHandle) {
+        Region region = writableRegion(regionKey(chunkX, chunkZ), true);
+        int row = chunkZ & REGION_MASK;
+        int bit = 1 << (chunkX & REGION_MASK);
+        if ((region.rows[row] & bit) == 0) {
+            region.rows[row] |= bit;
+            region.claimedCount++;
+        }
+        region.owners[localIndex(chunkX, chunkZ)] = ownerHandle;
+    }
+    
+    public void unclaim(int chunkX, int chunkZ) {
+        long key = regionKey(chunkX, chunkZ);
+        if (!regions.containsKey(key)) return;
+        
+        Region region = writableRegion(key, false);
+        int row = chunkZ & REGION_MASK;
+        int bit = 1 << (chunkX & REGION_MASK);
+        if ((region.rows[row] & bit) != 0) {
+            region.rows[row] &= ~bit;
+            if (--region.claimedCount == 0) {
+                regions.remove(key);
+            }
+        }
+    }
+    
+    private Region writableRegion(long key, boolean create) {
+        Region region = regions.get(key);
+        if (region == null) {
+            if (!create) return null;
+            region = new Region();
+        } else if (!copiedRegions.contains(key)) {
+            region = region.copy();
+        }
+        regions.put(key, region);
+        copiedRegions.add(key);
+        return region;
+    }
+    
+    private static long regionKey(int chunkX, int chunkZ) {
+        return ChunkKey.pack(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+    }
+    
+    private static int localIndex(int chunkX, int chunkZ) {
+        return ((chunkZ & REGION_MASK) << REGION_SHIFT) | (chunkX & REGION_MASK);
+    }
+    
+    /** Bits fromX..toX (inclusive) of a region row */
+    private static int rowMask(int fromX, int toX) {
+        return (int) (((1L << (toX - fromX + 1)) - 1) << fromX);
+    }
+    
+    @FunctionalInterface
+    public interface ClaimVisitor {
+        void visit(int chunkX, int chunkZ, int ownerHandle);
+    }
+    
+    private static final class Region {
+        // Bit x of rows[z] is set when local chunk (x, z) is claimed
+        private final int[] rows;
+        // Owning kingdom handle for each local chunk
+        private final int[] owners;
+        private int claimedCount;
+        
+        private Region() {
+            this.rows = new int[REGION_SIZE];
+            this.owners = new int[REGION_SIZE * REGION_SIZE];
+        }
+        
+        private Region(Region source) {
+            this.rows = source.rows.clone();
+            this.owners = source.owners.clone();
+            this.claimedCount = source.claimedCount;
+        }
+        
+        private Region copy() {
+            return new Region(this);
+        }
+    }
+}
@@ -6,20 +6,46 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CombatManager {
     
+    private static final int COMBAT_DURATION_SECONDS = 300; // 5 minutes
+    private static final int[] COMBAT_WARNINGS = {60, 30, 10};
+    
     private final Feudal plugin;
+    // Sessions by challenge ID, and the session each fighting player is in
     private final Map<UUID, CombatSession> activeCombatSessions;
+    private final Map<UUID, CombatSession> sessionsByPlayer;
+    
+    // Damage scaling from combat.scaling, read once
+    private final boolean attributeScaling;
+    private final boolean professionBonuses;
+    private final double strengthDamage;
+    private final double defenseReduction;
+    private final double agilityCrit;
+    private final double critMultiplier;
+    private final double warriorDamage;
+    private final double warriorReduction;
     
     public CombatManager(Feudal plugin) {
         this.plugin = plugin;
-        this.activeCombatSessions = new HashMap<>();
+        this.activeCombatSessions = new ConcurrentHashMap<>();
+        this.sessionsByPlayer = new ConcurrentHashMap<>();
+        
+        this.attributeScaling = plugin.getConfig().getBoolean("combat.attribute-damage-scaling", true);
+        this.professionBonuses = plugin.getConfig().getBoolean("combat.profession-bonuses", true);
+        this.strengthDamage = plugin.getConfig().getDouble("combat.scaling.strength-damage", 0.05);
+        this.defenseReduction = plugin.getConfig().getDouble("combat.scaling.defense-reduction", 0.03);
+        this.agilityCrit = plugin.getConfig().getDouble("combat.scaling.agility-crit", 0.02);
+        this.critMultiplier = plugin.getConfig().getDouble("combat.scaling.crit-multiplier", 1.5);
+        this.warriorDamage = plugin.getConfig().getDouble("combat.scaling.warrior-damage", 0.05);
+        this.warriorReduction = plugin.getConfig().getDouble("combat.scaling.warrior-reduction", 0.03);
     }
     
     public void startCombat(Challenge challenge) {
@@ -30,10 +56,13 @@ public class CombatManager {
         Player target = Bukkit.getPlayer(targetId);
         
         if (challenger == null || target == null) return;
+        if (isInCombat(challengerId) || isInCombat(targetId)) return;
         
         // Create combat session
         CombatSession session = new CombatSession(challenge, challengerId, targetId);
         activeCombatSessions.put(challenge.getChallengeId(), session);
+        sessionsByPlayer.put(challengerId, session);
+        sessionsByPlayer.put(targetId, session);
         
         // Apply combat effects based on player attributes
         applyCombatEffects(challenger, challengerId);
@@ -54,6 +83,9 @@ public class CombatManager {
         FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getPlayer(playerId);
         if (feudalPlayer == null) return;
         
+        // Start the fight with an up-to-date profile
+        feudalPlayer.setCombatProfile(buildCombatProfile(feudalPlayer));
+        
         // Apply attribute-based effects
         int strength = feudalPlayer.getAttribute(Attribute.STRENGTH);
         int defense = feudalPlayer.getAttribute(Attribute.DEFENSE);
@@ -115,6 +147,12 @@ public class CombatManager {
     private void endCombat(CombatSession session, UUID winnerId) {
         Challenge challenge = session.getChallenge();
         
+        // Unregister first, so a death and the timer cannot both end the same session
+        if (!activeCombatSessions.remove(challenge.getChallengeId(), session)) return;
+        sessionsByPlayer.remove(session.getPlayer1(), session);
+        sessionsByPlayer.remove(session.getPlayer2(), session);
+        session.cancelTimers();
+        
         // Remove combat effects
         Player player1 = Bukkit.getPlayer(session.getPlayer1());
         Player player2 = Bukkit.getPlayer(session.getPlayer2());
@@ -122,6 +160,9 @@ public class CombatManager {
         if (player1 != null) removeCombatEffects(player1);
         if (player2 != null) removeCombatEffects(player2);
         
+        // Show damage from the last partial window
+        session.getFeedback().flush(player1, player2);
+        
         // Award experience and rewards
         if (winnerId != null) {
             awardCombatRewards(winnerId, session.getOpponent(winnerId));
@@ -130,11 +171,12 @@ public class CombatManager {
         // Complete the challenge
         plugin.getChallengeManager().completeChallenge(challenge, winnerId);
         
-        // Remove combat session
-        activeCombatSessions.remove(challenge.getChallengeId());
-        
         // Broadcast combat end
         broadcastCombatEnd(challenge, winnerId);
+        
+        // Challenges accepted while either player was fighting can start now
+        plugin.getChallengeManager().startWaitingChallenges(session.getPlayer1());
+        plugin.getChallengeManager().startWaitingChallenges(session.getPlayer2());
     }
     
     private void removeCombatEffects(Player player) {
@@ -183,43 +225,28 @@ public class CombatManager {
         }
     }
     
+    /**
+     * Register the session's warnings and time limit with the shared scheduler
+     */
     private void startCombatTimer(CombatSession session) {
-        new BukkitRunnable() {
-            int timeLeft = 300; // 5 minutes
-            
-            @Override
-            public void run() {
-                if (!activeCombatSessions.containsKey(session.getChallenge().getChallengeId())) {
-                    cancel();
-                    return;
-                }
-                
-                timeLeft--;
+        DeadlineScheduler scheduler = plugin.getDeadlineScheduler();
+        for (int warning : COMBAT_WARNINGS) {
+            session.addTimer(scheduler.schedule((COMBAT_DURATION_SECONDS - warning) * 20L, () -> {
+                Player player1 = Bukkit.getPlayer(session.getPlayer1());
+                Player player2 = Bukkit.getPlayer(session.getPlayer2());
                 
-                // Warn players at certain intervals
-                if (timeLeft == 60 || timeLeft == 30 || timeLeft == 10) {
-                    Player player1 = Bukkit.getPlayer(session.getPlayer1());
-                    Player player2 = Bukkit.getPlayer(session.getPlayer2());
-                    
-                    String message = "§e§lCOMBAT WARNING! §7" + timeLeft + " seconds remaining!";
-                    if (player1 != null) player1.sendMessage(message);
-                    if (player2 != null) player2.sendMessage(message);
-                }
-                
-                // End combat if time runs out
-                if (timeLeft <= 0) {
-                    endCombat(session, null); // Draw
-                    cancel();
-                }
-            }
-        }.runTaskTimer(plugin, 0L, 20L);
+                String message = "§e§lCOMBAT WARNING! §7" + warning + " seconds remaining!";
+                if (player1 != null) player1.sendMessage(message);
+                if (player2 != null) player2.sendMessage(message);
+            }));
+        }
+        
+        // End combat if time runs out
+        session.addTimer(scheduler.schedule(COMBAT_DURATION_SECONDS * 20L, () -> endCombat(session, null))); // Draw
     }
     
     private CombatSession findCombatSession(UUID playerId) {
-        return activeCombatSessions.values().stream()
-            .filter(session -> session.involvesPlayer(playerId))
-            .findFirst()
-            .orElse(null);
+        return sessionsByPlayer.get(playerId);
     }
     
     private void broadcastCombatStart(Challenge challenge) {
@@ -256,8 +283,73 @@ public class CombatManager {
         Bukkit.getOnlinePlayers().forEach(player -> player.sendMessage(message));
     }
     
+    /**
+     * Add a challenge hit to its session's feedback, shown on the action bar a second after the first
+     * hit of each window; quiet sessions have no pending flush
+     */
+    public void recordDamage(UUID attackerId, UUID victimId, double damage) {
+        CombatSession session = sessionsByPlayer.get(attackerId);
+        if (session != null && session.involvesPlayer(victimId)) {
+            session.getFeedback().record(attackerId.equals(session.getPlayer1()), damage);
+            if (!session.hasPendingFeedback()) {
+                session.setFeedbackTimer(plugin.getDeadlineScheduler().schedule(20L, () ->
+                    session.getFeedback().flush(Bukkit.getPlayer(session.getPlayer1()), Bukkit.getPlayer(session.getPlayer2()))));
+            }
+        }
+    }
+    
+    /**
+     * Combat profile of a player, rebuilt only after their attributes or professions changed
+     */
+    public CombatProfile getCombatProfile(FeudalPlayer player) {
+        CombatProfile profile = player.getCombatProfile();
+        if (profile == null) {
+            profile = buildCombatProfile(player);
+            player.setCombatProfile(profile);
+        }
+        return profile;
+    }
+    
+    private CombatProfile buildCombatProfile(FeudalPlayer player) {
+        double attack = 1.0;
+        double defense = 1.0;
+        double critChance = 0.0;
+        
+        if (attributeScaling) {
+            // Strength increases damage, defense reduces damage taken, agility adds crit chance; all above 10
+            attack *= 1.0 + (player.getAttribute(Attribute.STRENGTH) - 10) * strengthDamage;
+            defense *= Math.max(0.1, 1.0 - (player.getAttribute(Attribute.DEFENSE) - 10) * defenseReduction);
+            critChance = Math.max(0.0, Math.min(1.0, (player.getAttribute(Attribute.AGILITY) - 10) * agilityCrit));
+        }
+        
+        if (professionBonuses) {
+            // Warrior levels above 1 increase damage dealt and reduce damage taken
+            int warriorLevel = player.getProfessionLevel(Profession.WARRIOR);
+            attack *= 1.0 + (warriorLevel - 1) * warriorDamage;
+            defense *= Math.max(0.1, 1.0 - (warriorLevel - 1) * warriorReduction);
+        }
+        
+        return new CombatProfile(attack, defense, critChance);
+    }
+    
+    public double getCritMultiplier() {
+        return critMultiplier;
+    }
+    
     public boolean isInCombat(UUID playerId) {
-        return findCombatSession(playerId) != null;
+        return sessionsByPlayer.containsKey(playerId);
+    }
+    
+    /**
+     * Whether two players are fighting each other in the same session
+     */
+    public boolean areInCombatTogether(UUID playerId, UUID otherId) {
+        CombatSession session = sessionsByPlayer.get(playerId);
+        return session != null && session.involvesPlayer(otherId);
+    }
+    
+    public int getActiveSessionCount() {
+        return activeCombatSessions.size();
     }
     
     public CombatSession getCombatSession(UUID playerId) {
@@ -270,18 +362,37 @@ public class CombatManager {
         private final UUID player1;
         private final UUID player2;
         private final long startTime;
+        private final DamageFeedback feedback;
+        private final List<DeadlineScheduler.Timer> timers;
+        private DeadlineScheduler.Timer feedbackTimer;
         
         public CombatSession(Challenge challenge, UUID player1, UUID player2) {
             this.challenge = challenge;
             this.player1 = player1;
             this.player2 = player2;
             this.startTime = System.currentTimeMillis();
+            this.feedback = new DamageFeedback();
+            this.timers = new ArrayList<>();
         }
         
         public Challenge getChallenge() { return challenge; }
         public UUID getPlayer1() { return player1; }
         public UUID getPlayer2() { return player2; }
         public long getStartTime() { return startTime; }
+        public DamageFeedback getFeedback() { return feedback; }
+        
+        public void addTimer(DeadlineScheduler.Timer timer) { timers.add(timer); }
+        public void setFeedbackTimer(DeadlineScheduler.Timer feedbackTimer) { this.feedbackTimer = feedbackTimer; }
+        
+        public boolean hasPendingFeedback() {
+            return feedbackTimer != null && !feedbackTimer.isDone() && !feedbackTimer.isCancelled();
+        }
+        
+        public void cancelTimers() {
+            timers.forEach(DeadlineScheduler.Timer::cancel);
+            timers.clear();
+            if (feedbackTimer != null) feedbackTimer.cancel();
+        }
         
         public boolean involvesPlayer(UUID playerId) {
             return player1.equals(playerId) || player2.equals(playerId);
@@ -293,4 +404,31 @@ public class CombatManager {
             return null;
         }
     }
+    
+    // Damage dealt by each side of a session since the last flush; text is only built when shown
+    private static class DamageFeedback {
+        private double dealtByPlayer1;
+        private double dealtByPlayer2;
+        
+        public void record(boolean byPlayer1, double damage) {
+            if (byPlayer1) {
+                dealtByPlayer1 += damage;
+            } else {
+                dealtByPlayer2 += damage;
+            }
+        }
+        
+        public void flush(Player player1, Player player2) {
+            if (dealtByPlayer1 == 0 && dealtByPlayer2 == 0) return;
+            
+            if (player1 != null) player1.sendActionBar(format(dealtByPlayer1, dealtByPlayer2));
+            if (player2 != null) player2.sendActionBar(format(dealtByPlayer2, dealtByPlayer1));
+            dealtByPlayer1 = 0;
+            dealtByPlayer2 = 0;
+        }
+        
+        private static String format(double dealt, double taken) {
+            return "§c⚔ §7Dealt §c" + String.format("%.1f", dealt) + " §8| §c❤ §7Took §c" + String.format("%.1f", taken);
+        }
+    }
 }
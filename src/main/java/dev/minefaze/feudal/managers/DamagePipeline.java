@@ -0,0 +1,224 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.Feudal;
+import dev.minefaze.feudal.models.*;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Single pass over player-vs-player damage.
+ * Both players' data, the challenge state and the diplomatic relationship are resolved once per event,
+ * then the rules run in order until one of them stops the pipeline. Time spent in each rule is recorded.
+ */
+public class DamagePipeline {
+    
+    private final Feudal plugin;
+    private final List<String> ruleNames;
+    private final List<Rule> rules;
+    // Per-rule timings, indexed like rules; only touched from the main thread
+    private long[] ruleNanos = new long[0];
+    private long[] ruleCalls = new long[0];
+    private long resolveNanos;
+    private long events;
+    
+    public DamagePipeline(Feudal plugin) {
+        this.plugin = plugin;
+        this.ruleNames = new ArrayList<>();
+        this.rules = new ArrayList<>();
+        
+        addRule("friendly-fire", this::friendlyFire);
+        addRule("alliance", this::alliance);
+        addRule("challenge-only", this::challengeOnly);
+        addRule("war", this::war);
+        addRule("attribute-scaling", this::attributeScaling);
+    }
+    
+    /**
+     * Append a rule; rules run in the order they were added
+     */
+    public void addRule(String name, Rule rule) {
+        ruleNames.add(name);
+        rules.add(rule);
+        ruleNanos = Arrays.copyOf(ruleNanos, rules.size());
+        ruleCalls = Arrays.copyOf(ruleCalls, rules.size());
+    }
+    
+    public void handle(EntityDamageByEntityEvent event, Player attacker, Player victim) {
+        long started = System.nanoTime();
+        DamageContext context = resolve(event, attacker, victim);
+        long now = System.nanoTime();
+        resolveNanos += now - started;
+        events++;
+        
+        for (int i = 0; i < rules.size(); i++) {
+            boolean proceed = rules.get(i).apply(context);
+            long finished = System.nanoTime();
+            ruleNanos[i] += finished - now;
+            ruleCalls[i]++;
+            now = finished;
+            if (!proceed) break;
+        }
+    }
+    
+    private DamageContext resolve(EntityDamageByEntityEvent event, Player attacker, Player victim) {
+        FeudalPlayer attackerData = plugin.getPlayerDataManager().getPlayer(attacker.getUniqueId());
+        FeudalPlayer victimData = plugin.getPlayerDataManager().getPlayer(victim.getUniqueId());
+        boolean challengeCombat = plugin.getCombatManager().areInCombatTogether(attacker.getUniqueId(), victim.getUniqueId());
+        
+        // Players without a kingdom have no diplomacy, which behaves like neutral
+        Relationship relationship = Relationship.NEUTRAL;
+        if (attackerData != null && victimData != null && attackerData.hasKingdom() && victimData.hasKingdom()) {
+            UUID attackerKingdomId = attackerData.getKingdom().getKingdomId();
+            UUID victimKingdomId = victimData.getKingdom().getKingdomId();
+            relationship = plugin.getAllianceManager().getRelationship(attackerKingdomId, victimKingdomId);
+        }
+        
+        return new DamageContext(event, attacker, victim, attackerData, victimData, relationship, challengeCombat);
+    }
+    
+    // Rules, in pipeline order; returning false stops the pipeline
+    private boolean friendlyFire(DamageContext context) {
+        if (context.isChallengeCombat() || context.getRelationship() != Relationship.OWN) return true;
+        
+        context.getAttacker().sendMessage("§c§lFriendly Fire! §7You cannot attack members of your own kingdom!");
+        context.getEvent().setCancelled(true);
+        return false;
+    }
+    
+    private boolean alliance(DamageContext context) {
+        if (context.isChallengeCombat() || !context.getRelationship().isAllied()) return true;
+        
+        if (context.getRelationship() == Relationship.NATION) {
+            context.getAttacker().sendMessage("§c§lNation Allies! §7You cannot attack members of your nation!");
+        } else {
+            context.getAttacker().sendMessage("§c§lAllied Kingdom! §7You cannot attack your allies!");
+        }
+        context.getEvent().setCancelled(true);
+        return false;
+    }
+    
+    private boolean challengeOnly(DamageContext context) {
+        if (context.isChallengeCombat()) return true;
+        
+        FeudalPlayer attackerData = context.getAttackerData();
+        FeudalPlayer victimData = context.getVictimData();
+        if (attackerData != null && victimData != null && !attackerData.isInCombat() && !victimData.isInCombat()) {
+            context.getAttacker().sendMessage("§c§lNo Random PvP! §7Use §e/feudal challenge " + context.getVictim().getName() + " honor_duel §7to fight properly!");
+            context.getEvent().setCancelled(true);
+            return false;
+        }
+        return true;
+    }
+    
+    private boolean war(DamageContext context) {
+        if (!context.isChallengeCombat() && context.getRelationship() == Relationship.ENEMY) {
+            context.getAttacker().sendMessage("§c§lWar Combat! §7You are fighting an enemy kingdom!");
+            context.getVictim().sendMessage("§c§lUnder Attack! §7You are being attacked by an enemy kingdom!");
+        }
+        return true;
+    }
+    
+    private boolean attributeScaling(DamageContext context) {
+        if (!context.isChallengeCombat()) return true;
+        
+        FeudalPlayer attackerData = context.getAttackerData();
+        FeudalPlayer victimData = context.getVictimData();
+        if (attackerData == null || victimData == null) return true;
+        
+        CombatProfile attackerProfile = plugin.getCombatManager().getCombatProfile(attackerData);
+        CombatProfile victimProfile = plugin.getCombatManager().getCombatProfile(victimData);
+        
+        EntityDamageByEntityEvent event = context.getEvent();
+        double finalDamage = event.getDamage() * attackerProfile.getAttackMultiplier() * victimProfile.getDefenseMultiplier();
+        if (attackerProfile.getCritChance() > 0 && ThreadLocalRandom.current().nextDouble() < attackerProfile.getCritChance()) {
+            finalDamage *= plugin.getCombatManager().getCritMultiplier();
+        }
+        
+        finalDamage = Math.max(0.5, finalDamage); // Minimum 0.5 damage
+        event.setDamage(finalDamage);
+        
+        // Summed per session and shown on the action bar, instead of two chat lines per hit
+        plugin.getCombatManager().recordDamage(context.getAttacker().getUniqueId(), context.getVictim().getUniqueId(), finalDamage);
+        return true;
+    }
+    
+    // Statistics
+    public long getProcessedEvents() {
+        return events;
+    }
+    
+    /**
+     * Average nanoseconds per event for context resolution and each rule, in pipeline order
+     */
+    public Map<String, Long> getAverageStageNanos() {
+        Map<String, Long> averages = new LinkedHashMap<>();
+        averages.put("resolve", events == 0 ? 0L : resolveNanos / events);
+        for (int i = 0; i < rules.size(); i++) {
+            averages.put(ruleNames.get(i), ruleCalls[i] == 0 ? 0L : ruleNanos[i] / ruleCalls[i]);
+        }
+        return averages;
+    }
+    
+    /**
+     * Log the event count and average time per stage, e.g. on shutdown
+     */
+    public void logStatistics() {
+        if (events == 0) return;
+        
+        StringBuilder stages = new StringBuilder();
+        for (Map.Entry<String, Long> stage : getAverageStageNanos().entrySet()) {
+            if (stages.length() > 0) stages.append(", ");
+            stages.append(stage.getKey()).append(' ').append(stage.getValue()).append(" ns");
+        }
+        plugin.getLogger().info("Damage pipeline: " + events + " events, average per stage: " + stages);
+    }
+    
+    /**
+     * One step of the pipeline; return false to stop the remaining rules
+     */
+    @FunctionalInterface
+    public interface Rule {
+        boolean apply(DamageContext context);
+    }
+    
+    /**
+     * Everything the rules need about one hit, resolved once
+     */
+    public static final class DamageContext {
+        private final EntityDamageByEntityEvent event;
+        private final Player attacker;
+        private final Player victim;
+        private final FeudalPlayer attackerData;
+        private final FeudalPlayer victimData;
+        private final Relationship relationship;
+        private final boolean challengeCombat;
+        
+        private DamageContext(EntityDamageByEntityEvent event, Player attacker, Player victim,
+                              FeudalPlayer attackerData, FeudalPlayer victimData,
+                              Relationship relationship, boolean challengeCombat) {
+            this.event = event;
+            this.attacker = attacker;
+            this.victim = victim;
+            this.attackerData = attackerData;
+            this.victimData = victimData;
+            this.relationship = relationship;
+            this.challengeCombat = challengeCombat;
+        }
+        
+        public EntityDamageByEntityEvent getEvent() { return event; }
+        public Player getAttacker() { return attacker; }
+        public Player getVictim() { return victim; }
+        public FeudalPlayer getAttackerData() { return attackerData; }
+        public FeudalPlayer getVictimData() { return victimData; }
+        public Relationship getRelationship() { return relationship; }
+        public boolean isChallengeCombat() { return challengeCombat; }
+    }
+}
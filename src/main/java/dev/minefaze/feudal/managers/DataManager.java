@@ -3,11 +3,19 @@ package dev.minefaze.feudal.managers;
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.database.DatabaseFactory;
 import dev.minefaze.feudal.database.DatabaseProvider;
+import dev.minefaze.feudal.database.KingdomDataSet;
 import dev.minefaze.feudal.models.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class DataManager {
@@ -15,8 +23,18 @@ public class DataManager {
     private final Feudal plugin;
     private DatabaseProvider databaseProvider;
     
+    // Write-behind queue: one pending write per entity key, latest state wins
+    private final Object writeLock = new Object();
+    private final Map<String, PendingWrite> pendingWrites;
+    private Map<String, PendingWrite> inFlightWrites;
+    private ScheduledExecutorService writeExecutor;
+    private boolean flushScheduled;
+    private long writeBehindDelay;
+    
     public DataManager(Feudal plugin) {
         this.plugin = plugin;
+        this.pendingWrites = new LinkedHashMap<>();
+        this.inFlightWrites = Collections.emptyMap();
     }
     
     public void initialize() {
@@ -29,11 +47,35 @@ public class DataManager {
             plugin.getLogger().severe(plugin.getMessageManager().getMessage("database.connection-failed"));
         }
         
+        // Start the write-behind thread when async saves are enabled
+        if (plugin.getConfig().getBoolean("performance.async-saves", true)) {
+            writeBehindDelay = Math.max(0L, plugin.getConfig().getLong("performance.write-behind-delay", 500L));
+            writeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Feudal-DataWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
         String providerName = databaseProvider.getClass().getSimpleName().replace("DatabaseProvider", "");
         plugin.getLogger().info(plugin.getMessageManager().getMessage("database.initialized", providerName));
     }
     
     public void close() {
+        // Stop the writer thread and drain whatever is still queued on the caller
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+            try {
+                if (!writeExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Timed out waiting for the data writer thread to finish");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeExecutor = null;
+        }
+        flushPendingWrites();
+        
         if (databaseProvider != null) {
             databaseProvider.close();
         }
@@ -41,109 +83,291 @@ public class DataManager {
     
     // Player Data Methods - delegate to database provider
     public void savePlayerData(FeudalPlayer player) {
-        if (databaseProvider != null) {
-            databaseProvider.savePlayerData(player);
-        }
+        FeudalPlayer snapshot = player.snapshot();
+        queueWrite("player:" + player.getPlayerId(), player, snapshot, () -> databaseProvider.savePlayerData(snapshot));
     }
     
     public FeudalPlayer loadPlayerData(UUID playerId) {
+        PendingWrite pending = getPendingWrite("player:" + playerId);
+        if (pending != null) {
+            return (FeudalPlayer) pending.entity;
+        }
         if (databaseProvider != null) {
-            return databaseProvider.loadPlayerData(playerId);
+            return loaded(databaseProvider.loadPlayerData(playerId));
         }
         return null;
     }
     
     // Kingdom Data Methods - delegate to database provider
     public void saveKingdomData(Kingdom kingdom) {
-        if (databaseProvider != null) {
-            databaseProvider.saveKingdomData(kingdom);
-        }
+        Kingdom snapshot = kingdom.snapshot();
+        queueWrite("kingdom:" + kingdom.getKingdomId(), kingdom, snapshot, () -> databaseProvider.saveKingdomData(snapshot));
     }
     
     public Kingdom loadKingdomData(UUID kingdomId) {
+        PendingWrite pending = getPendingWrite("kingdom:" + kingdomId);
+        if (pending != null) {
+            return (Kingdom) pending.entity;
+        }
         if (databaseProvider != null) {
-            return databaseProvider.loadKingdomData(kingdomId);
+            return loaded(databaseProvider.loadKingdomData(kingdomId));
         }
         return null;
     }
     
     public Map<UUID, Kingdom> loadAllKingdoms() {
+        flushPendingWrites();
         if (databaseProvider != null) {
-            return databaseProvider.loadAllKingdoms();
+            Map<UUID, Kingdom> kingdoms = databaseProvider.loadAllKingdoms();
+            kingdoms.values().forEach(VersionedEntity::markClean);
+            return kingdoms;
         }
         return new HashMap<>();
     }
     
-    public void deleteKingdomData(UUID kingdomId) {
+    /** Load kingdoms, members, town halls, nexus and territories together for startup */
+    public KingdomDataSet loadAllKingdomData() {
+        flushPendingWrites();
         if (databaseProvider != null) {
-            databaseProvider.deleteKingdomData(kingdomId);
+            KingdomDataSet data = databaseProvider.loadAllKingdomData();
+            data.getKingdoms().values().forEach(VersionedEntity::markClean);
+            data.getTownHalls().values().forEach(VersionedEntity::markClean);
+            data.getNexuses().values().forEach(VersionedEntity::markClean);
+            data.getTerritories().values().forEach(VersionedEntity::markClean);
+            return data;
+        }
+        return new KingdomDataSet();
+    }
+    
+    public void deleteKingdomData(UUID kingdomId) {
+        synchronized (writeLock) {
+            // Pending structure and territory writes for a deleted kingdom must not resurrect it
+            pendingWrites.remove("townhall:" + kingdomId);
+            pendingWrites.remove("nexus:" + kingdomId);
+            pendingWrites.values().removeIf(write ->
+                write.entity instanceof Territory territory && kingdomId.equals(territory.getKingdomId()));
         }
+        queueWrite("kingdom:" + kingdomId, null, null, () -> databaseProvider.deleteKingdomData(kingdomId));
     }
     
     // Territory Data Methods - delegate to database provider
     public void saveTerritoryData(Territory territory) {
-        if (databaseProvider != null) {
-            databaseProvider.saveTerritoryData(territory);
-        }
+        Territory snapshot = territory.snapshot();
+        queueWrite("territory:" + territory.getTerritoryId(), territory, snapshot, () -> databaseProvider.saveTerritoryData(snapshot));
     }
     
     public Territory loadTerritoryData(UUID territoryId) {
+        PendingWrite pending = getPendingWrite("territory:" + territoryId);
+        if (pending != null) {
+            return (Territory) pending.entity;
+        }
         if (databaseProvider != null) {
-            return databaseProvider.loadTerritoryData(territoryId);
+            return loaded(databaseProvider.loadTerritoryData(territoryId));
         }
         return null;
     }
     
     public Map<UUID, Territory> loadAllTerritories() {
+        flushPendingWrites();
         if (databaseProvider != null) {
-            return databaseProvider.loadAllTerritories();
+            Map<UUID, Territory> territories = databaseProvider.loadAllTerritories();
+            territories.values().forEach(VersionedEntity::markClean);
+            return territories;
         }
         return new HashMap<>();
     }
     
     public void deleteTerritoryData(UUID territoryId) {
-        if (databaseProvider != null) {
-            databaseProvider.deleteTerritoryData(territoryId);
-        }
+        queueWrite("territory:" + territoryId, null, null, () -> databaseProvider.deleteTerritoryData(territoryId));
     }
     
     // Challenge Data Methods - delegate to database provider
     public void saveChallengeData(Challenge challenge) {
-        if (databaseProvider != null) {
-            databaseProvider.saveChallengeData(challenge);
-        }
+        Challenge snapshot = challenge.snapshot();
+        queueWrite("challenge:" + challenge.getChallengeId(), challenge, snapshot, () -> databaseProvider.saveChallengeData(snapshot));
     }
     
     // Additional database provider methods
     public void saveTownHallData(TownHall townHall, UUID kingdomId) {
-        if (databaseProvider != null) {
-            databaseProvider.saveTownHallData(townHall, kingdomId);
-        }
+        TownHall snapshot = townHall.snapshot();
+        queueWrite("townhall:" + kingdomId, townHall, snapshot, () -> databaseProvider.saveTownHallData(snapshot, kingdomId));
     }
     
     public TownHall loadTownHallData(UUID kingdomId) {
+        PendingWrite pending = getPendingWrite("townhall:" + kingdomId);
+        if (pending != null) {
+            return (TownHall) pending.entity;
+        }
         if (databaseProvider != null) {
-            return databaseProvider.loadTownHallData(kingdomId);
+            return loaded(databaseProvider.loadTownHallData(kingdomId));
         }
         return null;
     }
     
     public void saveNexusData(Nexus nexus, UUID kingdomId) {
-        if (databaseProvider != null) {
-            databaseProvider.saveNexusData(nexus, kingdomId);
-        }
+        Nexus snapshot = nexus.snapshot();
+        queueWrite("nexus:" + kingdomId, nexus, snapshot, () -> databaseProvider.saveNexusData(snapshot, kingdomId));
     }
     
     public Nexus loadNexusData(UUID kingdomId) {
+        PendingWrite pending = getPendingWrite("nexus:" + kingdomId);
+        if (pending != null) {
+            return (Nexus) pending.entity;
+        }
         if (databaseProvider != null) {
-            return databaseProvider.loadNexusData(kingdomId);
+            return loaded(databaseProvider.loadNexusData(kingdomId));
         }
         return null;
     }
     
     public void saveAll() {
+        flushPendingWrites();
         if (databaseProvider != null) {
             databaseProvider.saveAll();
         }
     }
+    
+    /** Get the number of writes waiting for the writer thread */
+    public int getPendingWriteCount() {
+        synchronized (writeLock) {
+            return pendingWrites.size();
+        }
+    }
+    
+    /** Freshly loaded entities match storage, so they start clean */
+    private <T extends VersionedEntity> T loaded(T entity) {
+        if (entity != null) {
+            entity.markClean();
+        }
+        return entity;
+    }
+    
+    // Write-behind queue
+    /**
+     * Queue a write. The snapshot is taken by the caller on the main thread; the action must only read the snapshot,
+     * while the live entity is kept to answer loads until the write is done.
+     */
+    private void queueWrite(String key, Object entity, Object snapshot, Runnable action) {
+        if (databaseProvider == null) {
+            return;
+        }
+        
+        // Without a writer thread, write through on the caller as before
+        if (writeExecutor == null) {
+            action.run();
+            return;
+        }
+        
+        synchronized (writeLock) {
+            // Re-insert so the newest write for this entity keeps its place after older ones
+            pendingWrites.remove(key);
+            pendingWrites.put(key, new PendingWrite(entity, snapshot, action));
+            
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writeExecutor.schedule(this::flushPendingWrites, writeBehindDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    /**
+     * Returns the newest unsaved write for a key, checking writes being flushed as well.
+     * A returned entry with a null entity is a pending delete.
+     */
+    private PendingWrite getPendingWrite(String key) {
+        synchronized (writeLock) {
+            PendingWrite pending = pendingWrites.get(key);
+            if (pending == null) {
+                pending = inFlightWrites.get(key);
+            }
+            return pending;
+        }
+    }
+    
+    /** Write every queued entity to the database provider */
+    private void flushPendingWrites() {
+        // Serialize flushes so the writer thread and a caller draining on shutdown never interleave
+        synchronized (this) {
+            List<PendingWrite> batch;
+            synchronized (writeLock) {
+                flushScheduled = false;
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                inFlightWrites = new LinkedHashMap<>(pendingWrites);
+                batch = new ArrayList<>(pendingWrites.values());
+                pendingWrites.clear();
+            }
+            
+            try {
+                // Consecutive rows the provider can batch are grouped; any other write (kingdom saves,
+                // deletes, challenges) cuts the batch first, so writes still reach storage in queue order
+                List<FeudalPlayer> players = new ArrayList<>();
+                List<TownHall> townHalls = new ArrayList<>();
+                List<Nexus> nexuses = new ArrayList<>();
+                List<Territory> territories = new ArrayList<>();
+                
+                for (PendingWrite write : batch) {
+                    if (write.snapshot instanceof FeudalPlayer player) {
+                        players.add(player);
+                    } else if (write.snapshot instanceof TownHall townHall) {
+                        townHalls.add(townHall);
+                    } else if (write.snapshot instanceof Nexus nexus) {
+                        nexuses.add(nexus);
+                    } else if (write.snapshot instanceof Territory territory) {
+                        territories.add(territory);
+                    } else {
+                        runBatches(players, townHalls, nexuses, territories);
+                        runWrite(write.action);
+                    }
+                }
+                runBatches(players, townHalls, nexuses, territories);
+            } finally {
+                synchronized (writeLock) {
+                    inFlightWrites = Collections.emptyMap();
+                }
+            }
+        }
+    }
+    
+    /** Write and clear the grouped rows collected so far */
+    private void runBatches(List<FeudalPlayer> players, List<TownHall> townHalls, List<Nexus> nexuses, List<Territory> territories) {
+        if (!players.isEmpty()) {
+            runWrite(() -> databaseProvider.savePlayerDataBatch(players));
+            players.clear();
+        }
+        if (!townHalls.isEmpty()) {
+            runWrite(() -> databaseProvider.saveTownHallDataBatch(townHalls));
+            townHalls.clear();
+        }
+        if (!nexuses.isEmpty()) {
+            runWrite(() -> databaseProvider.saveNexusDataBatch(nexuses));
+            nexuses.clear();
+        }
+        if (!territories.isEmpty()) {
+            runWrite(() -> databaseProvider.saveTerritoryDataBatch(territories));
+            territories.clear();
+        }
+    }
+    
+    private void runWrite(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to flush queued data write", e);
+        }
+    }
+    
+    private static final class PendingWrite {
+        // Live entity, returned by loads; the writer only touches the snapshot
+        private final Object entity;
+        private final Object snapshot;
+        private final Runnable action;
+        
+        private PendingWrite(Object entity, Object snapshot, Runnable action) {
+            this.entity = entity;
+            this.snapshot = snapshot;
+            this.action = action;
+        }
+    }
 }
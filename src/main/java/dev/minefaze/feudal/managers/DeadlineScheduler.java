@@ -0,0 +1,150 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.Feudal;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+/**
+ * Plugin-wide one-shot timers on the main thread, driven by a single tick task.
+ * Deadlines are kept in a priority queue, so a tick with nothing due only peeks at the head;
+ * pending timers cost nothing until they fire. Cancellation is lazy and cancelled timers are
+ * purged once they make up half of the queue. Use from the main thread only.
+ */
+public class DeadlineScheduler {
+    
+    private final Feudal plugin;
+    private final PriorityQueue<Timer> queue;
+    private BukkitRunnable tickTask;
+    private long currentTick;
+    private long sequence;
+    private int cancelledCount;
+    
+    public DeadlineScheduler(Feudal plugin) {
+        this.plugin = plugin;
+        this.queue = new PriorityQueue<>();
+        startTickTask();
+    }
+    
+    private void startTickTask() {
+        tickTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        };
+        tickTask.runTaskTimer(plugin, 1L, 1L);
+    }
+    
+    /**
+     * Run a task once after the given number of ticks; a delay below 1 runs it on the next tick
+     */
+    public Timer schedule(long delayTicks, Runnable task) {
+        Timer timer = new Timer(this, currentTick + Math.max(1L, delayTicks), sequence++, task);
+        queue.add(timer);
+        return timer;
+    }
+    
+    /**
+     * Like {@link #schedule(long, Runnable)}, for a wall-clock delay in milliseconds
+     */
+    public Timer scheduleMillis(long delayMillis, Runnable task) {
+        // Round up, so the task never runs before the wall-clock deadline on a healthy server
+        return schedule((Math.max(0L, delayMillis) + 49L) / 50L, task);
+    }
+    
+    private void tick() {
+        currentTick++;
+        Timer timer;
+        while ((timer = queue.peek()) != null && timer.deadline <= currentTick) {
+            queue.poll();
+            if (timer.cancelled) {
+                cancelledCount--;
+                continue;
+            }
+            
+            timer.done = true;
+            try {
+                timer.task.run();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Scheduled task failed", e);
+            }
+        }
+    }
+    
+    private void onCancelled() {
+        cancelledCount++;
+        if (cancelledCount > 64 && cancelledCount * 2 > queue.size()) {
+            queue.removeIf(timer -> timer.cancelled);
+            cancelledCount = 0;
+        }
+    }
+    
+    public long getCurrentTick() {
+        return currentTick;
+    }
+    
+    /** Timers still waiting to fire, excluding cancelled ones */
+    public int getPendingCount() {
+        return queue.size() - cancelledCount;
+    }
+    
+    /**
+     * Stop the tick task and drop every pending timer without running it
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        for (Timer timer : queue) {
+            timer.cancelled = true;
+        }
+        queue.clear();
+        cancelledCount = 0;
+    }
+    
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timer implements Comparable<Timer> {
+        private final DeadlineScheduler scheduler;
+        private final long deadline;
+        private final long sequence;
+        private final Runnable task;
+        private boolean cancelled;
+        private boolean done;
+        
+        private Timer(DeadlineScheduler scheduler, long deadline, long sequence, Runnable task) {
+            this.scheduler = scheduler;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.task = task;
+        }
+        
+        /**
+         * Prevent the task from running; does nothing if it already ran or was cancelled
+         */
+        public void cancel() {
+            if (cancelled || done) return;
+            cancelled = true;
+            scheduler.onCancelled();
+        }
+        
+        public boolean isCancelled() { return cancelled; }
+        public boolean isDone() { return done; }
+        
+        /** Ticks until the task runs, or 0 if it is due, ran or was cancelled */
+        public long getRemainingTicks() {
+            return cancelled || done ? 0L : Math.max(0L, deadline - scheduler.currentTick);
+        }
+        
+        @Override
+        public int compareTo(Timer other) {
+            // Earliest deadline first, then in scheduling order
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
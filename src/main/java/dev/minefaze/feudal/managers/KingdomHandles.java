@@ -0,0 +1,91 @@
+package dev.minefaze.feudal.managers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning registry that gives every kingdom UUID a dense int handle.
+ * Handles start at 0 and stay valid until the kingdom is released on deletion; released handles are
+ * handed out again, so the table stays as large as the most kingdoms that existed at once.
+ * Lookups take no lock; interning and releasing are serialized.
+ */
+public final class KingdomHandles {
+    
+    /** Returned by {@link #handleOf(UUID)} for kingdoms that were never interned */
+    public static final int NONE = -1;
+    
+    private final Map<UUID, Integer> handles;
+    // Canonical UUID per handle; replaced by a larger copy when full and written before the handle is published
+    private volatile UUID[] kingdomIds;
+    private final Deque<Integer> freeHandles;
+    private int size;
+    
+    public KingdomHandles() {
+        this.handles = new ConcurrentHashMap<>();
+        this.kingdomIds = new UUID[64];
+        this.freeHandles = new ArrayDeque<>();
+    }
+    
+    /**
+     * Handle for a kingdom, assigning the next free one on first use
+     */
+    public int intern(UUID kingdomId) {
+        Integer handle = handles.get(kingdomId);
+        if (handle != null) return handle;
+        
+        synchronized (this) {
+            handle = handles.get(kingdomId);
+            if (handle != null) return handle;
+            
+            Integer free = freeHandles.poll();
+            if (free != null) {
+                kingdomIds[free] = kingdomId;
+                handles.put(kingdomId, free);
+                return free;
+            }
+            
+            UUID[] ids = kingdomIds;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[size] = kingdomId;
+            kingdomIds = ids;
+            handles.put(kingdomId, size);
+            return size++;
+        }
+    }
+    
+    /**
+     * Give up a deleted kingdom's handle for reuse.
+     * Callers must first drop every structure still indexed by it, such as claims and the relationship matrix.
+     */
+    public synchronized void release(UUID kingdomId) {
+        Integer handle = handles.remove(kingdomId);
+        if (handle != null) {
+            kingdomIds[handle] = null;
+            freeHandles.push(handle);
+        }
+    }
+    
+    /** Handle of an interned kingdom, or {@link #NONE} */
+    public int handleOf(UUID kingdomId) {
+        if (kingdomId == null) return NONE;
+        Integer handle = handles.get(kingdomId);
+        return handle != null ? handle : NONE;
+    }
+    
+    /** Canonical kingdom UUID for a handle, or null if the handle was never assigned */
+    public UUID getKingdomId(int handle) {
+        UUID[] ids = kingdomIds;
+        return handle >= 0 && handle < ids.length ? ids[handle] : null;
+    }
+    
+    /** Upper bound (exclusive) of the handles assigned so far */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -1,26 +1,46 @@
 package dev.minefaze.feudal.managers;
 
 import dev.minefaze.feudal.Feudal;
+import dev.minefaze.feudal.database.KingdomDataSet;
 import dev.minefaze.feudal.models.*;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Kingdom and territory registry.
+ * Methods that change kingdoms or territories are synchronized on the manager, so writers run one at a time.
+ * Lookups take no lock and are safe from any thread: kingdoms live in concurrent maps and the territory
+ * index is copy-on-write, so readers always see a complete snapshot.
+ */
 public class KingdomManager {
     
     private final Feudal plugin;
     private final Map<UUID, Kingdom> kingdoms;
     private final Map<String, UUID> kingdomsByName;
-    private final Map<Chunk, Territory> territories;
+    // Territories per world UID, keyed by packed chunk coordinates. Published snapshots are never modified.
+    private volatile Map<UUID, TerritoryIndex> territoryIndexes;
+    // Claimed-chunk region bitmaps per world UID, published together with the territory index
+    private volatile Map<UUID, ClaimRegions> claimRegions;
+    // Territories per owning kingdom, kept in sync by updateTerritoryIndex
+    private final Map<UUID, Set<Territory>> territoriesByKingdom;
+    private final CapitalIndex capitalIndex;
+    // Dense int handle per kingdom UUID, shared with the claim bitmaps and the relationship matrix
+    private final KingdomHandles kingdomHandles;
     
     public KingdomManager(Feudal plugin) {
         this.plugin = plugin;
-        this.kingdoms = new HashMap<>();
-        this.kingdomsByName = new HashMap<>();
-        this.territories = new HashMap<>();
+        this.kingdoms = new ConcurrentHashMap<>();
+        this.kingdomsByName = new ConcurrentHashMap<>();
+        this.territoryIndexes = Collections.emptyMap();
+        this.claimRegions = Collections.emptyMap();
+        this.territoriesByKingdom = new ConcurrentHashMap<>();
+        this.capitalIndex = new CapitalIndex(plugin.getConfig().getInt("kingdoms.min-capital-distance", 500));
+        this.kingdomHandles = new KingdomHandles();
     }
     
     public synchronized Kingdom createKingdom(String name, UUID leaderId, Location capital) {
@@ -35,23 +55,29 @@ public class KingdomManager {
             return null;
         }
         
+        // Keep capitals apart
+        if (capital != null && getCapitalConflict(capital) != null) {
+            return null;
+        }
+        
         // Create new kingdom
         UUID kingdomId = UUID.randomUUID();
         Kingdom kingdom = new Kingdom(kingdomId, name, leaderId, capital);
+        kingdom.setHandle(kingdomHandles.intern(kingdomId));
         
         // Register kingdom
         kingdoms.put(kingdomId, kingdom);
         kingdomsByName.put(name.trim().toLowerCase(), kingdomId);
+        capitalIndex.update(kingdomId, capital);
         
         // Register territories
-        for (Territory territory : kingdom.getTerritories()) {
-            territories.put(territory.getChunk(), territory);
-        }
+        updateTerritoryIndex(Collections.emptyList(), kingdom.getTerritories());
         
         // Update player data
         if (player != null) {
             player.setKingdom(kingdom);
         }
+        plugin.getBroadcastManager().updateMembership(leaderId, kingdomId);
         
         // Save kingdom data
         plugin.getDataManager().saveKingdomData(kingdom);
@@ -59,27 +85,32 @@ public class KingdomManager {
         return kingdom;
     }
     
-    public boolean deleteKingdom(UUID kingdomId) {
+    public synchronized boolean deleteKingdom(UUID kingdomId) {
         Kingdom kingdom = kingdoms.get(kingdomId);
         if (kingdom == null) return false;
         
         // Remove all territories
-        for (Territory territory : kingdom.getTerritories()) {
-            territories.remove(territory.getChunk());
-        }
+        updateTerritoryIndex(kingdom.getTerritories(), Collections.emptyList());
         
-        // Update all members
+        // Update all members, including cached offline ones so they are saved without the kingdom
         for (UUID memberId : kingdom.getMembers()) {
-            FeudalPlayer player = plugin.getPlayerDataManager().getPlayer(memberId);
+            FeudalPlayer player = plugin.getPlayerDataManager().getCachedPlayer(memberId);
             if (player != null) {
                 player.setKingdom(null);
             }
+            plugin.getBroadcastManager().updateMembership(memberId, null);
         }
         
         // Remove from maps
         kingdoms.remove(kingdomId);
+        capitalIndex.remove(kingdomId);
         kingdomsByName.remove(kingdom.getName().toLowerCase());
         
+        // Its claims are gone, so the handle can be reused once the relationship matrix is rebuilt
+        kingdomHandles.release(kingdomId);
+        kingdom.setHandle(KingdomHandles.NONE);
+        plugin.getAllianceManager().invalidateRelationships();
+        
         // Delete from storage
         plugin.getDataManager().deleteKingdomData(kingdomId);
         
@@ -102,12 +133,30 @@ public class KingdomManager {
         return player != null ? player.getKingdom() : null;
     }
     
-    public synchronized Territory getTerritoryAt(Chunk chunk) {
-        return territories.get(chunk);
+    public Territory getTerritoryAt(UUID worldId, long packedChunk) {
+        TerritoryIndex index = territoryIndexes.get(worldId);
+        return index != null ? index.get(packedChunk) : null;
+    }
+    
+    public Territory getTerritoryAt(ChunkKey chunkKey) {
+        return getTerritoryAt(chunkKey.getWorldId(), chunkKey.getPacked());
+    }
+    
+    public Territory getTerritoryAt(World world, int chunkX, int chunkZ) {
+        return getTerritoryAt(world.getUID(), ChunkKey.pack(chunkX, chunkZ));
     }
     
-    public synchronized Territory getTerritoryAt(Location location) {
-        return getTerritoryAt(location.getChunk());
+    public Territory getTerritoryAt(Chunk chunk) {
+        return getTerritoryAt(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+    
+    /**
+     * Find the territory at a location using block coordinates, so the chunk is never loaded
+     */
+    public Territory getTerritoryAt(Location location) {
+        World world = location.getWorld();
+        if (world == null) return null;
+        return getTerritoryAt(world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
     }
     
     public synchronized boolean claimTerritory(UUID kingdomId, Chunk chunk, TerritoryType type) {
@@ -118,7 +167,8 @@ public class KingdomManager {
         }
         
         // Check if chunk is already claimed
-        if (territories.containsKey(chunk)) {
+        ChunkKey chunkKey = ChunkKey.of(chunk);
+        if (getTerritoryAt(chunkKey) != null) {
             plugin.getLogger().warning("claimTerritory: Chunk " + chunk.getX() + "," + chunk.getZ() + " is already claimed");
             return false;
         }
@@ -129,11 +179,11 @@ public class KingdomManager {
         }
         
         // Create new territory
-        Territory territory = new Territory(UUID.randomUUID(), kingdomId, chunk, type);
+        Territory territory = new Territory(UUID.randomUUID(), kingdomId, chunkKey, type);
         
         // Add to kingdom and maps
         kingdom.addTerritory(territory);
-        territories.put(chunk, territory);
+        updateTerritoryIndex(Collections.emptyList(), List.of(territory));
         
         // Save data
         plugin.getDataManager().saveTerritoryData(territory);
@@ -142,7 +192,7 @@ public class KingdomManager {
         return true;
     }
     
-    public boolean transferTerritory(Territory territory, UUID newKingdomId) {
+    public synchronized boolean transferTerritory(Territory territory, UUID newKingdomId) {
         Kingdom oldKingdom = kingdoms.get(territory.getKingdomId());
         Kingdom newKingdom = kingdoms.get(newKingdomId);
         
@@ -155,13 +205,13 @@ public class KingdomManager {
         Territory newTerritory = new Territory(
             UUID.randomUUID(),
             newKingdomId,
-            territory.getChunk(),
+            territory.getChunkKey(),
             territory.getType()
         );
         
         // Add to new kingdom
         newKingdom.addTerritory(newTerritory);
-        territories.put(territory.getChunk(), newTerritory);
+        updateTerritoryIndex(List.of(territory), List.of(newTerritory));
         
         // Save data
         plugin.getDataManager().saveTerritoryData(newTerritory);
@@ -172,7 +222,7 @@ public class KingdomManager {
         return true;
     }
     
-    public boolean joinKingdom(UUID playerId, UUID kingdomId) {
+    public synchronized boolean joinKingdom(UUID playerId, UUID kingdomId) {
         Kingdom kingdom = kingdoms.get(kingdomId);
         FeudalPlayer player = plugin.getPlayerDataManager().getPlayer(playerId);
         
@@ -182,6 +232,7 @@ public class KingdomManager {
         // Add player to kingdom
         kingdom.addMember(playerId);
         player.setKingdom(kingdom);
+        plugin.getBroadcastManager().updateMembership(playerId, kingdomId);
         
         // Save data
         plugin.getDataManager().saveKingdomData(kingdom);
@@ -190,7 +241,7 @@ public class KingdomManager {
         return true;
     }
     
-    public boolean leaveKingdom(UUID playerId) {
+    public synchronized boolean leaveKingdom(UUID playerId) {
         FeudalPlayer player = plugin.getPlayerDataManager().getPlayer(playerId);
         if (player == null || !player.hasKingdom()) return false;
         
@@ -219,6 +270,7 @@ public class KingdomManager {
         // Remove player from kingdom
         kingdom.removeMember(playerId);
         player.setKingdom(null);
+        plugin.getBroadcastManager().updateMembership(playerId, null);
         
         // Save data
         plugin.getDataManager().saveKingdomData(kingdom);
@@ -232,20 +284,136 @@ public class KingdomManager {
     }
     
     public List<Territory> getTerritoriesForKingdom(UUID kingdomId) {
-        return territories.values().stream()
-            .filter(territory -> territory.getKingdomId().equals(kingdomId))
-            .collect(Collectors.toList());
+        Set<Territory> owned = territoriesByKingdom.get(kingdomId);
+        return owned != null ? new ArrayList<>(owned) : new ArrayList<>();
+    }
+    
+    public int getTerritoryCount(UUID kingdomId) {
+        Set<Territory> owned = territoriesByKingdom.get(kingdomId);
+        return owned != null ? owned.size() : 0;
     }
     
     public List<Territory> getAllTerritories() {
-        return new ArrayList<>(territories.values());
+        List<Territory> result = new ArrayList<>();
+        for (TerritoryIndex index : territoryIndexes.values()) {
+            result.addAll(index.values());
+        }
+        return result;
+    }
+    
+    /**
+     * Claimed-chunk bitmaps for a world, for map rendering and rectangle queries
+     */
+    public ClaimRegions getClaimRegions(World world) {
+        return claimRegions.getOrDefault(world.getUID(), ClaimRegions.EMPTY);
+    }
+    
+    /**
+     * Dense int handles for kingdom UUIDs
+     */
+    public KingdomHandles getKingdomHandles() {
+        return kingdomHandles;
+    }
+    
+    /**
+     * Publish a new territory snapshot with the given territories removed and added.
+     * Only the indexes and region bitmaps of affected worlds are copied; callers must hold the manager lock.
+     */
+    private void updateTerritoryIndex(Collection<Territory> removed, Collection<Territory> added) {
+        if (removed.isEmpty() && added.isEmpty()) return;
+        
+        Map<UUID, TerritoryIndex> next = new HashMap<>(territoryIndexes);
+        Map<UUID, ClaimRegions> nextRegions = new HashMap<>(claimRegions);
+        Set<UUID> copiedWorlds = new HashSet<>();
+        
+        for (Territory territory : removed) {
+            ChunkKey chunkKey = territory.getChunkKey();
+            TerritoryIndex index = writableIndex(next, nextRegions, copiedWorlds, chunkKey.getWorldId());
+            if (index.remove(chunkKey.getPacked(), territory)) {
+                nextRegions.get(chunkKey.getWorldId()).unclaim(chunkKey.getX(), chunkKey.getZ());
+                Set<Territory> owned = territoriesByKingdom.get(territory.getKingdomId());
+                if (owned != null) {
+                    owned.remove(territory);
+                    if (owned.isEmpty()) {
+                        territoriesByKingdom.remove(territory.getKingdomId());
+                    }
+                }
+            }
+        }
+        for (Territory territory : added) {
+            ChunkKey chunkKey = territory.getChunkKey();
+            TerritoryIndex index = writableIndex(next, nextRegions, copiedWorlds, chunkKey.getWorldId());
+            Territory replaced = index.put(chunkKey.getPacked(), territory);
+            nextRegions.get(chunkKey.getWorldId()).claim(chunkKey.getX(), chunkKey.getZ(),
+                    kingdomHandles.intern(territory.getKingdomId()));
+            if (replaced != null && replaced != territory) {
+                Set<Territory> previousOwner = territoriesByKingdom.get(replaced.getKingdomId());
+                if (previousOwner != null) {
+                    previousOwner.remove(replaced);
+                }
+            }
+            territoriesByKingdom.computeIfAbsent(territory.getKingdomId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(territory);
+        }
+        
+        territoryIndexes = Collections.unmodifiableMap(next);
+        claimRegions = Collections.unmodifiableMap(nextRegions);
+    }
+    
+    private TerritoryIndex writableIndex(Map<UUID, TerritoryIndex> next, Map<UUID, ClaimRegions> nextRegions,
+                                         Set<UUID> copiedWorlds, UUID worldId) {
+        if (copiedWorlds.add(worldId)) {
+            TerritoryIndex current = next.get(worldId);
+            next.put(worldId, current != null ? new TerritoryIndex(current) : new TerritoryIndex());
+            ClaimRegions currentRegions = nextRegions.get(worldId);
+            nextRegions.put(worldId, currentRegions != null ? new ClaimRegions(currentRegions) : new ClaimRegions(kingdomHandles));
+        }
+        return next.get(worldId);
     }
     
+    /**
+     * Kingdoms whose capital is within the horizontal radius of a location
+     */
     public List<Kingdom> getKingdomsNear(Location location, double radius) {
-        return kingdoms.values().stream()
-            .filter(k -> k.getCapital() != null)
-            .filter(k -> k.getCapital().distance(location) <= radius)
-            .collect(Collectors.toList());
+        return toKingdoms(capitalIndex.findWithin(location, radius));
+    }
+    
+    /**
+     * Up to count kingdoms ordered by the horizontal distance of their capital from a location
+     */
+    public List<Kingdom> getNearestKingdoms(Location location, int count) {
+        return toKingdoms(capitalIndex.findNearest(location, count));
+    }
+    
+    /**
+     * The closest kingdom whose capital is within kingdoms.min-capital-distance, or null if the location is clear
+     */
+    public Kingdom getCapitalConflict(Location location) {
+        int minDistance = plugin.getConfig().getInt("kingdoms.min-capital-distance", 500);
+        if (minDistance <= 0) return null;
+        
+        UUID kingdomId = capitalIndex.findClosestWithin(location, minDistance);
+        return kingdomId != null ? kingdoms.get(kingdomId) : null;
+    }
+    
+    /**
+     * Move a kingdom's capital and keep the capital index in sync
+     */
+    public synchronized void setCapital(Kingdom kingdom, Location capital) {
+        kingdom.setCapital(capital);
+        capitalIndex.update(kingdom.getKingdomId(), capital);
+        plugin.getDataManager().saveKingdomData(kingdom);
+    }
+    
+    private List<Kingdom> toKingdoms(List<UUID> kingdomIds) {
+        List<Kingdom> result = new ArrayList<>(kingdomIds.size());
+        for (UUID kingdomId : kingdomIds) {
+            Kingdom kingdom = kingdoms.get(kingdomId);
+            if (kingdom != null) {
+                result.add(kingdom);
+            }
+        }
+        return result;
     }
     
     public boolean canPlayerBuildAt(UUID playerId, Location location) {
@@ -258,45 +426,53 @@ public class KingdomManager {
         return kingdom.isMember(playerId);
     }
     
-    public void loadKingdomData() {
-        // Load kingdoms from storage
-        Map<UUID, Kingdom> loadedKingdoms = plugin.getDataManager().loadAllKingdoms();
-        for (Kingdom kingdom : loadedKingdoms.values()) {
+    public synchronized void loadKingdomData() {
+        long start = System.nanoTime();
+        
+        // Load kingdoms with their structures and territories in one pass
+        KingdomDataSet data = plugin.getDataManager().loadAllKingdomData();
+        for (Kingdom kingdom : data.getKingdoms().values()) {
+            kingdom.setHandle(kingdomHandles.intern(kingdom.getKingdomId()));
             kingdoms.put(kingdom.getKingdomId(), kingdom);
             kingdomsByName.put(kingdom.getName().toLowerCase(), kingdom.getKingdomId());
+            capitalIndex.update(kingdom.getKingdomId(), kingdom.getCapital());
             
-            // Load town hall data
-            TownHall townHall = plugin.getDataManager().loadTownHallData(kingdom.getKingdomId());
+            TownHall townHall = data.getTownHalls().get(kingdom.getKingdomId());
             if (townHall != null) {
                 kingdom.setTownHall(townHall);
             }
             
-            // Load nexus data
-            Nexus nexus = plugin.getDataManager().loadNexusData(kingdom.getKingdomId());
+            Nexus nexus = data.getNexuses().get(kingdom.getKingdomId());
             if (nexus != null) {
                 kingdom.setNexus(nexus);
             }
         }
         
-        // Load territories from storage
-        Map<UUID, Territory> loadedTerritories = plugin.getDataManager().loadAllTerritories();
-        for (Territory territory : loadedTerritories.values()) {
-            territories.put(territory.getChunk(), territory);
+        // Attach stored territories; a stored capital replaces the one the constructor placed at the capital chunk
+        for (Territory territory : data.getTerritories().values()) {
+            Kingdom kingdom = data.getKingdoms().get(territory.getKingdomId());
+            if (kingdom != null) {
+                kingdom.addTerritory(territory);
+            }
         }
         
-        plugin.getLogger().info("Loaded " + loadedKingdoms.size() + " kingdoms and " + loadedTerritories.size() + " territories");
+        // Assembled from storage, so there is nothing to write back yet
+        data.getKingdoms().values().forEach(Kingdom::markClean);
+        
+        updateTerritoryIndex(Collections.emptyList(), data.getTerritories().values());
+        
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+        plugin.getLogger().info("Loaded " + data.getKingdoms().size() + " kingdoms and " + data.getTerritories().size()
+                + " territories in " + elapsed + "ms (" + data.formatStageTimings() + ")");
     }
     
     /**
      * Validate that a 3x3 area around the center chunk is available for kingdom creation
      */
-    private boolean validateAreaForKingdom(Chunk centerChunk) {
+    private boolean validateAreaForKingdom(ChunkKey centerChunk) {
         for (int x = -1; x <= 1; x++) {
             for (int z = -1; z <= 1; z++) {
-                Chunk chunk = centerChunk.getWorld().getChunkAt(
-                    centerChunk.getX() + x, 
-                    centerChunk.getZ() + z
-                );
+                ChunkKey chunk = centerChunk.offset(x, z);
                 
                 Territory existingTerritory = getTerritoryAt(chunk);
                 if (existingTerritory != null) {
@@ -340,22 +516,30 @@ public class KingdomManager {
         // Initialize town hall and nexus
         kingdom.initializeTownHallAndNexus(type);
         
+        // Keep capitals at least kingdoms.min-capital-distance apart
+        Kingdom nearbyKingdom = getCapitalConflict(location);
+        if (nearbyKingdom != null) {
+            plugin.getLogger().warning("Cannot create kingdom '" + name + "' - too close to the capital of " + nearbyKingdom.getName());
+            return null;
+        }
+        
         // Validate that the 3x3 area is available before claiming
-        Chunk centerChunk = location.getChunk();
+        ChunkKey centerChunk = ChunkKey.of(location);
         if (!validateAreaForKingdom(centerChunk)) {
             plugin.getLogger().warning("Cannot create kingdom '" + name + "' - area is not suitable (overlapping territories)");
             return null;
         }
         
+        // Validation passed; only now take a handle, which the claims below are indexed by
+        kingdom.setHandle(kingdomHandles.intern(kingdomId));
+        
         // Claim 3x3 chunks around the location
         int claimedChunks = 0;
+        List<Territory> claimed = new ArrayList<>();
         
         for (int x = -1; x <= 1; x++) {
             for (int z = -1; z <= 1; z++) {
-                Chunk chunk = location.getWorld().getChunkAt(
-                    centerChunk.getX() + x, 
-                    centerChunk.getZ() + z
-                );
+                ChunkKey chunk = centerChunk.offset(x, z);
                 
                 // Check if chunk is already claimed
                 Territory existingTerritory = getTerritoryAt(chunk);
@@ -382,16 +566,18 @@ public class KingdomManager {
                     territoryType
                 );
                 
-                // Add to territories map and kingdom
-                territories.put(chunk, territory);
+                // Add to kingdom, the territory index is published once all chunks are claimed
+                claimed.add(territory);
                 kingdom.addTerritory(territory);
                 claimedChunks++;
             }
         }
         
-        // Add kingdom to kingdoms map (already synchronized by method)
+        // Add kingdom and territories (already synchronized by method)
+        updateTerritoryIndex(Collections.emptyList(), claimed);
         kingdoms.put(kingdomId, kingdom);
         kingdomsByName.put(name.trim().toLowerCase(), kingdomId);
+        capitalIndex.update(kingdomId, location);
         
         plugin.getLogger().info("Created kingdom '" + name + "' with ID " + kingdomId + " for player " + leaderId);
         plugin.getLogger().info("Kingdom registered with normalized name: '" + name.toLowerCase() + "'");
@@ -409,9 +595,19 @@ public class KingdomManager {
             plugin.getServer().getPlayer(leaderId)
         );
         player.setKingdom(kingdom);
+        plugin.getBroadcastManager().updateMembership(leaderId, kingdomId);
         
-        // Save data
+        // Save data; the kingdom row goes first, the claimed territories follow as one batch
         plugin.getDataManager().saveKingdomData(kingdom);
+        for (Territory territory : claimed) {
+            plugin.getDataManager().saveTerritoryData(territory);
+        }
+        if (kingdom.getTownHall() != null) {
+            plugin.getDataManager().saveTownHallData(kingdom.getTownHall(), kingdomId);
+        }
+        if (kingdom.getNexus() != null) {
+            plugin.getDataManager().saveNexusData(kingdom.getNexus(), kingdomId);
+        }
         plugin.getPlayerDataManager().savePlayer(player);
         
         plugin.getLogger().info("Created kingdom '" + name + "' with " + claimedChunks + " territories and " + 
@@ -521,12 +521,7 @@ public class NexusManager implements Listener {
      * Notify all kingdom members
      */
     private void notifyKingdomMembers(Kingdom kingdom, String messageKey, Object... args) {
-        for (UUID memberId : kingdom.getMembers()) {
-            Player member = plugin.getServer().getPlayer(memberId);
-            if (member != null && member.isOnline()) {
-                plugin.getMessageManager().sendMessage(member, messageKey, args);
-            }
-        }
+        plugin.getBroadcastManager().sendKingdomMessage(kingdom.getKingdomId(), messageKey, args);
     }
     
     /**
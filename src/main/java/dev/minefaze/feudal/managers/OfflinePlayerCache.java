@@ -0,0 +1,153 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.models.FeudalPlayer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Size- and time-bounded LRU cache of player records for players who are not online.
+ * Entries expire a fixed time after their last access. Every entry that leaves the cache other than
+ * through {@link #remove(UUID)} is passed to the eviction hook, so dirty records can be saved first.
+ * All methods are synchronized on the cache; the hook runs outside the lock.
+ */
+public final class OfflinePlayerCache {
+    
+    private final int maxSize;
+    private final long expireAfterAccessNanos;
+    private final Consumer<FeudalPlayer> evictionHook;
+    // Access-ordered, so the eldest entry is both the least recently used and the first to expire
+    private final LinkedHashMap<UUID, Entry> entries;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public OfflinePlayerCache(int maxSize, long expireAfterAccessNanos, Consumer<FeudalPlayer> evictionHook) {
+        this.maxSize = Math.max(0, maxSize);
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+        this.evictionHook = evictionHook;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /** Cached record, or null on a miss */
+    public FeudalPlayer get(UUID playerId) {
+        List<FeudalPlayer> evicted = new ArrayList<>(0);
+        FeudalPlayer player;
+        synchronized (this) {
+            long now = System.nanoTime();
+            expire(now, evicted);
+            Entry entry = entries.get(playerId);
+            if (entry != null) {
+                entry.lastAccess = now;
+                player = entry.player;
+            } else {
+                player = null;
+            }
+        }
+        (player != null ? hits : misses).incrementAndGet();
+        evict(evicted);
+        return player;
+    }
+    
+    public void put(UUID playerId, FeudalPlayer player) {
+        if (maxSize == 0) {
+            evict(List.of(player));
+            return;
+        }
+        
+        List<FeudalPlayer> evicted = new ArrayList<>(0);
+        synchronized (this) {
+            long now = System.nanoTime();
+            expire(now, evicted);
+            Entry previous = entries.put(playerId, new Entry(player, now));
+            if (previous != null && previous.player != player) {
+                evicted.add(previous.player);
+            }
+            
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                evicted.add(eldest.next().player);
+                eldest.remove();
+            }
+        }
+        evict(evicted);
+    }
+    
+    /**
+     * Take a record out of the cache without calling the eviction hook, e.g. when its player logs back in
+     */
+    public synchronized FeudalPlayer remove(UUID playerId) {
+        Entry entry = entries.remove(playerId);
+        return entry != null ? entry.player : null;
+    }
+    
+    public synchronized boolean contains(UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+    
+    /** Drop expired entries; also runs on every get and put */
+    public void cleanUp() {
+        List<FeudalPlayer> evicted = new ArrayList<>(0);
+        synchronized (this) {
+            expire(System.nanoTime(), evicted);
+        }
+        evict(evicted);
+    }
+    
+    /** Evict every entry through the hook, e.g. on shutdown */
+    public void invalidateAll() {
+        List<FeudalPlayer> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                evicted.add(entry.player);
+            }
+            entries.clear();
+        }
+        evict(evicted);
+    }
+    
+    private void expire(long now, List<FeudalPlayer> evicted) {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext()) {
+            Entry entry = eldest.next();
+            if (now - entry.lastAccess <= expireAfterAccessNanos) break;
+            evicted.add(entry.player);
+            eldest.remove();
+        }
+    }
+    
+    private void evict(List<FeudalPlayer> evicted) {
+        for (FeudalPlayer player : evicted) {
+            evictions.incrementAndGet();
+            evictionHook.accept(player);
+        }
+    }
+    
+    // Statistics
+    public synchronized int size() { return entries.size(); }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    
+    public double getHitRate() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0.0 : (double) hits.get() / requests;
+    }
+    
+    private static final class Entry {
+        private final FeudalPlayer player;
+        private long lastAccess;
+        
+        private Entry(FeudalPlayer player, long lastAccess) {
+            this.player = player;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -4,22 +4,63 @@ import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.models.*;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 public class PlayerDataManager implements Listener {
     
+    private static final int BASE_LEVEL_EXPERIENCE = 100;
+    private static final double DEFAULT_LEVEL_SCALING = 1.5;
+    private static final long PREFETCH_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long CACHE_CLEANUP_INTERVAL_TICKS = 1200L; // 1 minute
+    
     private final Feudal plugin;
     private final Map<UUID, FeudalPlayer> playerData;
+    // Player records loaded during async pre-login, waiting for the join on the main thread
+    private final Map<UUID, Prefetch> prefetches;
+    // When each player was last unloaded; a prefetch started before that may be stale
+    private final Map<UUID, Long> unloadTimes;
+    // Recently unloaded and looked-up offline players, bounded by performance.cache
+    private final OfflinePlayerCache offlineCache;
+    private BukkitRunnable cacheCleanupTask;
+    // Cumulative profession experience needed for each level; index 0 is level 1
+    private final int[] levelThresholds;
     
     public PlayerDataManager(Feudal plugin) {
         this.plugin = plugin;
         this.playerData = new HashMap<>();
+        this.prefetches = new ConcurrentHashMap<>();
+        this.unloadTimes = new ConcurrentHashMap<>();
+        this.levelThresholds = buildLevelThresholds();
+        this.offlineCache = new OfflinePlayerCache(
+            plugin.getConfig().getInt("performance.cache.player-cache-size", 1000),
+            TimeUnit.MINUTES.toNanos(Math.max(1, plugin.getConfig().getInt("performance.cache.cache-expiration", 30))),
+            this::saveEvicted);
+        startCacheCleanup();
+    }
+    
+    /**
+     * Expire idle cache entries even when nothing reads the cache, so their changes get saved
+     */
+    private void startCacheCleanup() {
+        cacheCleanupTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                offlineCache.cleanUp();
+            }
+        };
+        cacheCleanupTask.runTaskTimer(plugin, CACHE_CLEANUP_INTERVAL_TICKS, CACHE_CLEANUP_INTERVAL_TICKS);
     }
     
     public FeudalPlayer getPlayer(UUID playerId) {
@@ -30,6 +71,14 @@ public class PlayerDataManager implements Listener {
         return getPlayer(player.getUniqueId());
     }
     
+    /**
+     * Loaded or cached offline player record, without going to storage
+     */
+    public FeudalPlayer getCachedPlayer(UUID playerId) {
+        FeudalPlayer player = playerData.get(playerId);
+        return player != null ? player : offlineCache.get(playerId);
+    }
+    
     public FeudalPlayer getOrCreatePlayer(UUID playerId, String playerName) {
         FeudalPlayer feudalPlayer = playerData.get(playerId);
         if (feudalPlayer == null) {
@@ -49,18 +98,76 @@ public class PlayerDataManager implements Listener {
     }
     
     public void loadPlayer(UUID playerId) {
-        FeudalPlayer player = plugin.getDataManager().loadPlayerData(playerId);
+        attachPlayer(playerId, plugin.getDataManager().loadPlayerData(playerId));
+    }
+    
+    private void attachPlayer(UUID playerId, FeudalPlayer player) {
         if (player != null) {
+            seedProfessionExperience(player);
+            linkKingdom(player);
             playerData.put(playerId, player);
         }
     }
     
+    /**
+     * Attach the Kingdom named by a loaded record's kingdom id. Loads only carry the id,
+     * since they may run off the main thread where the live Kingdom must not be touched.
+     */
+    private void linkKingdom(FeudalPlayer player) {
+        UUID kingdomId = player.getKingdomId();
+        if (kingdomId == null || player.hasKingdom()) return;
+        
+        Kingdom kingdom = plugin.getKingdomManager().getKingdom(kingdomId);
+        if (kingdom == null) {
+            // Drop the stale id, so the record is saved without it
+            plugin.getLogger().warning("Kingdom " + kingdomId + " not found for player " + player.getPlayerName());
+            player.setKingdom(null);
+            return;
+        }
+        
+        // Linking what is already stored does not make a clean record dirty
+        boolean clean = !player.isDirty();
+        player.setKingdom(kingdom);
+        if (clean) {
+            player.markClean();
+        }
+    }
+    
     public void unloadPlayer(UUID playerId) {
+        unloadTimes.put(playerId, System.nanoTime());
         FeudalPlayer player = playerData.get(playerId);
         if (player != null) {
             savePlayer(player);
             playerData.remove(playerId);
+            // Keep the record around for offline lookups and a quick rejoin
+            offlineCache.put(playerId, player);
+        }
+    }
+    
+    /**
+     * Eviction hook of the offline cache: save changes made while the player was cached
+     */
+    private void saveEvicted(FeudalPlayer player) {
+        if (player.isDirty()) {
+            savePlayer(player);
+        }
+    }
+    
+    public OfflinePlayerCache getOfflineCache() {
+        return offlineCache;
+    }
+    
+    /**
+     * Save every cached offline record that still has changes and empty the cache
+     */
+    public void shutdown() {
+        if (cacheCleanupTask != null) {
+            cacheCleanupTask.cancel();
+            cacheCleanupTask = null;
         }
+        plugin.getLogger().info("Offline player cache: " + offlineCache.getHitCount() + " hits, "
+            + offlineCache.getMissCount() + " misses, " + offlineCache.getEvictionCount() + " evictions");
+        offlineCache.invalidateAll();
     }
     
     public boolean hasPlayerData(UUID playerId) {
@@ -71,19 +178,24 @@ public class PlayerDataManager implements Listener {
         FeudalPlayer player = getPlayer(playerId);
         if (player != null) {
             player.addExperience(experience);
+            int professionExperience = player.addProfessionExperience(profession, experience);
             
-            // Calculate profession level up
+            // Common case: still short of the next level, nothing else to do
             int currentLevel = player.getProfessionLevel(profession);
-            int experienceForNext = getExperienceForLevel(currentLevel + 1);
+            if (currentLevel >= levelThresholds.length || professionExperience < levelThresholds[currentLevel]) {
+                return;
+            }
             
-            if (player.getTotalExperience() >= experienceForNext) {
-                player.setProfessionLevel(profession, currentLevel + 1);
+            // Resolve the new level in one step, even across several thresholds
+            int newLevel = getLevelForExperience(professionExperience);
+            if (newLevel > currentLevel) {
+                player.setProfessionLevel(profession, newLevel);
                 
                 // Notify player of level up
                 Player bukkitPlayer = plugin.getServer().getPlayer(playerId);
                 if (bukkitPlayer != null) {
                     bukkitPlayer.sendMessage("§6Congratulations! Your " + profession.getDisplayName() + 
-                                           " profession has reached level " + (currentLevel + 1) + "!");
+                                           " profession has reached level " + newLevel + "!");
                 }
             }
         }
@@ -97,9 +209,100 @@ public class PlayerDataManager implements Listener {
         }
     }
     
+    /**
+     * Cumulative profession experience needed to reach a level
+     */
     public int getExperienceForLevel(int level) {
-        // Exponential experience curve
-        return (int) (100 * Math.pow(1.5, level - 1));
+        if (level <= 1) return 0;
+        return levelThresholds[Math.min(level, levelThresholds.length) - 1];
+    }
+    
+    /**
+     * Highest level whose threshold the experience reaches, found by binary search over the curve
+     */
+    public int getLevelForExperience(int experience) {
+        int low = 0;
+        int high = levelThresholds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (levelThresholds[mid] <= experience) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+    
+    public int getMaxProfessionLevel() {
+        return levelThresholds.length;
+    }
+    
+    /**
+     * Precompute the exponential curve from experience.level-scaling up to experience.max-profession-level
+     */
+    private int[] buildLevelThresholds() {
+        int maxLevel = Math.max(1, plugin.getConfig().getInt("experience.max-profession-level", 100));
+        double scaling = plugin.getConfig().getDouble("experience.level-scaling", DEFAULT_LEVEL_SCALING);
+        if (scaling <= 1.0) {
+            plugin.getLogger().warning("Invalid experience.level-scaling: " + scaling + ". Using default: " + DEFAULT_LEVEL_SCALING);
+            scaling = DEFAULT_LEVEL_SCALING;
+        }
+        
+        int[] thresholds = new int[maxLevel];
+        double required = BASE_LEVEL_EXPERIENCE * scaling;
+        for (int level = 2; level <= maxLevel; level++) {
+            // Clamp instead of overflowing; the curve stays non-decreasing for the search
+            thresholds[level - 1] = (int) Math.min(Integer.MAX_VALUE, required);
+            required *= scaling;
+        }
+        return thresholds;
+    }
+    
+    /**
+     * Storage without per-profession experience leaves the pools empty; start them at the stored level.
+     * The seeded pools follow from what is already stored, so a clean record stays clean.
+     */
+    private void seedProfessionExperience(FeudalPlayer player) {
+        boolean clean = !player.isDirty();
+        for (Profession profession : Profession.values()) {
+            int levelExperience = getExperienceForLevel(player.getProfessionLevel(profession));
+            if (player.getProfessionExperience(profession) < levelExperience) {
+                player.setProfessionExperience(profession, levelExperience);
+            }
+        }
+        if (clean) {
+            player.markClean();
+        }
+    }
+    
+    /**
+     * Fetch the player's record off the main thread while the login is still pending
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        
+        expirePrefetches();
+        UUID playerId = event.getUniqueId();
+        // The join handler takes a cached record directly
+        if (offlineCache.contains(playerId)) return;
+        
+        long startedAt = System.nanoTime();
+        try {
+            // A null player is cached too: it means there is no stored record to load on join
+            FeudalPlayer player = plugin.getDataManager().loadPlayerData(playerId);
+            prefetches.put(playerId, new Prefetch(player, startedAt));
+        } catch (Exception e) {
+            // Leave it to the join handler's synchronous load
+            plugin.getLogger().log(Level.WARNING, "Failed to prefetch player data for " + event.getName(), e);
+        }
+    }
+    
+    private void expirePrefetches() {
+        long now = System.nanoTime();
+        prefetches.values().removeIf(prefetch -> now - prefetch.startedAt > PREFETCH_TTL_NANOS);
+        unloadTimes.values().removeIf(unloadedAt -> now - unloadedAt > PREFETCH_TTL_NANOS);
     }
     
     @EventHandler
@@ -107,8 +310,19 @@ public class PlayerDataManager implements Listener {
         Player player = event.getPlayer();
         UUID playerId = player.getUniqueId();
         
-        // Load or create player data
-        loadPlayer(playerId);
+        // Prefer the cached record, which is always the latest instance; then the prefetched one,
+        // falling back to loading here if it is missing, expired or started before this player's last unload
+        FeudalPlayer cached = offlineCache.remove(playerId);
+        Prefetch prefetch = prefetches.remove(playerId);
+        Long unloadedAt = unloadTimes.remove(playerId);
+        if (cached != null) {
+            attachPlayer(playerId, cached);
+        } else if (prefetch != null && System.nanoTime() - prefetch.startedAt <= PREFETCH_TTL_NANOS
+                && (unloadedAt == null || prefetch.startedAt - unloadedAt > 0)) {
+            attachPlayer(playerId, prefetch.player);
+        } else {
+            loadPlayer(playerId);
+        }
         if (!hasPlayerData(playerId)) {
             getOrCreatePlayer(player);
         }
@@ -120,6 +334,8 @@ public class PlayerDataManager implements Listener {
             
             // Ensure kingdom relationship is properly restored
             restoreKingdomRelationship(feudalPlayer);
+            plugin.getBroadcastManager().trackPlayer(player,
+                feudalPlayer.hasKingdom() ? feudalPlayer.getKingdom().getKingdomId() : null);
         }
     }
     
@@ -134,6 +350,8 @@ public class PlayerDataManager implements Listener {
         }
         
         // Save and unload player data
+        plugin.getBroadcastManager().untrackPlayer(playerId);
+        plugin.getActivityTracker().flushAndRemove(playerId);
         unloadPlayer(playerId);
     }
     
@@ -174,4 +392,14 @@ public class PlayerDataManager implements Listener {
             }
         }
     }
+    
+    private static final class Prefetch {
+        private final FeudalPlayer player;
+        private final long startedAt;
+        
+        private Prefetch(FeudalPlayer player, long startedAt) {
+            this.player = player;
+            this.startedAt = startedAt;
+        }
+    }
 }
@@ -420,7 +420,7 @@ public class SchematicManager {
             
             @Override
             public void run() {
-                int blocksPerTick = plugin.getConfig().getInt("performance.batch-size", 100);
+                int blocksPerTick = plugin.getConfig().getInt("schematics.blocks-per-tick", 50);
                 
                 for (int i = 0; i < blocksPerTick && blockIterator.hasNext(); i++) {
                     Map.Entry<Location, Material> entry = blockIterator.next();
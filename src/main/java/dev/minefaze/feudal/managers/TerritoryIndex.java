@@ -0,0 +1,183 @@
+package dev.minefaze.feudal.managers;
+
+import dev.minefaze.feudal.models.Territory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing map from packed chunk coordinates to territories for a single world.
+ * Lookups hash the primitive key directly, so they never box or allocate.
+ * Not thread-safe; KingdomManager copies an index before changing it and publishes the copy.
+ */
+public final class TerritoryIndex {
+    
+    private static final int DEFAULT_CAPACITY = 64;
+    
+    private long[] keys;
+    private Territory[] values;
+    private int mask;
+    private int size;
+    
+    public TerritoryIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public TerritoryIndex(int expectedSize) {
+        // Keep the load factor at or below one half so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+    
+    public TerritoryIndex(TerritoryIndex source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.mask = source.mask;
+        this.size = source.size;
+    }
+    
+    public Territory get(long key) {
+        int slot = slot(key);
+        Territory value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+    
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+    
+    /**
+     * Map a key to a territory
+     * @return the territory previously stored under the key, or null
+     */
+    public Territory put(long key, Territory territory) {
+        if (territory == null) {
+            throw new IllegalArgumentException("territory cannot be null");
+        }
+        
+        int slot = slot(key);
+        Territory existing;
+        while ((existing = values[slot]) != null) {
+            if (keys[slot] == key) {
+                values[slot] = territory;
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        keys[slot] = key;
+        values[slot] = territory;
+        if (++size * 2 > values.length) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+    
+    /**
+     * Remove a key
+     * @return the territory that was stored under the key, or null
+     */
+    public Territory remove(long key) {
+        int slot = slot(key);
+        Territory existing;
+        while ((existing = values[slot]) != null) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+    
+    /**
+     * Remove a key only if it still maps to the given territory
+     */
+    public boolean remove(long key, Territory territory) {
+        if (get(key) != territory) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+    
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+    
+    public List<Territory> values() {
+        List<Territory> result = new ArrayList<>(size);
+        for (Territory value : values) {
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+    
+    private int slot(long key) {
+        // Mix both coordinates into the low bits (murmur3 finalizer)
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+    
+    /**
+     * Close the gap left at a removed slot by moving back entries that probed past it
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            Territory value = values[slot];
+            if (value == null) {
+                break;
+            }
+            int home = slot(keys[slot]);
+            // Move the entry if its home slot is not cyclically within (gap, slot]
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = value;
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Territory[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Territory[capacity];
+        mask = capacity - 1;
+    }
+}
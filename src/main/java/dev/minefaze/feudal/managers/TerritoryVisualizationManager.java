@@ -96,17 +96,20 @@ public class TerritoryVisualizationManager {
         player.sendMessage("");
         
         FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
-        UUID playerKingdomId = feudalPlayer.hasKingdom() ? feudalPlayer.getKingdom().getKingdomId() : null;
+        int playerHandle = getPlayerKingdomHandle(feudalPlayer);
         
-        // Create map grid
+        // Create map grid, rows without claims are filled without probing each chunk
+        ClaimRegions regions = plugin.getKingdomManager().getClaimRegions(world);
+        int minX = centerChunk.getX() - radius;
+        int maxX = centerChunk.getX() + radius;
         StringBuilder mapBuilder = new StringBuilder();
-        for (int z = -radius; z <= radius; z++) {
-            for (int x = -radius; x <= radius; x++) {
-                Chunk chunk = world.getChunkAt(centerChunk.getX() + x, centerChunk.getZ() + z);
-                Territory territory = plugin.getKingdomManager().getTerritoryAt(chunk.getBlock(8, 64, 8).getLocation());
-                
-                String symbol = getMapSymbol(territory, playerKingdomId);
-                mapBuilder.append(symbol);
+        for (int chunkZ = centerChunk.getZ() - radius; chunkZ <= centerChunk.getZ() + radius; chunkZ++) {
+            if (!regions.anyClaimed(minX, chunkZ, maxX, chunkZ)) {
+                mapBuilder.append(getMapSymbol(KingdomHandles.NONE, playerHandle).repeat(maxX - minX + 1));
+            } else {
+                for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+                    mapBuilder.append(getMapSymbol(regions.getOwnerHandle(chunkX, chunkZ), playerHandle));
+                }
             }
             mapBuilder.append("\n");
         }
@@ -142,8 +145,7 @@ public class TerritoryVisualizationManager {
         UUID playerKingdomId = feudalPlayer.hasKingdom() ? feudalPlayer.getKingdom().getKingdomId() : null;
         
         for (Chunk chunk : chunks) {
-            Territory territory = plugin.getKingdomManager().getTerritoryAt(
-                chunk.getBlock(8, 64, 8).getLocation());
+            Territory territory = plugin.getKingdomManager().getTerritoryAt(chunk);
             
             if (territory != null) {
                 showChunkBorderParticles(player, chunk, territory, playerKingdomId);
@@ -225,30 +227,14 @@ public class TerritoryVisualizationManager {
             return new Particle.DustOptions(Color.GRAY, 1.0f); // Neutral for non-kingdom players
         }
         
-        UUID territoryOwnerId = territory.getKingdomId();
-        
-        // Own territory
-        if (territoryOwnerId.equals(playerKingdomId)) {
-            return new Particle.DustOptions(Color.GREEN, 1.0f);
-        }
-        
-        // Nation ally
-        if (plugin.getAllianceManager().areNationAllies(playerKingdomId, territoryOwnerId)) {
-            return new Particle.DustOptions(Color.AQUA, 1.0f);
-        }
-        
-        // Direct ally
-        if (plugin.getAllianceManager().areAllies(playerKingdomId, territoryOwnerId)) {
-            return new Particle.DustOptions(Color.BLUE, 1.0f);
-        }
-        
-        // Enemy
-        if (plugin.getAllianceManager().areEnemies(playerKingdomId, territoryOwnerId)) {
-            return new Particle.DustOptions(Color.RED, 1.0f);
-        }
-        
-        // Neutral
-        return new Particle.DustOptions(Color.YELLOW, 1.0f);
+        Color color = switch (plugin.getAllianceManager().getRelationship(playerKingdomId, territory.getKingdomId())) {
+            case OWN -> Color.GREEN;
+            case NATION -> Color.AQUA;
+            case ALLY -> Color.BLUE;
+            case ENEMY -> Color.RED;
+            case NEUTRAL -> Color.YELLOW;
+        };
+        return new Particle.DustOptions(color, 1.0f);
     }
     
     /**
@@ -266,41 +252,34 @@ public class TerritoryVisualizationManager {
     }
     
     /**
-     * Get map symbol for territory
+     * Get map symbol for a chunk owned by the given kingdom handle (NONE when unclaimed)
      */
-    private String getMapSymbol(Territory territory, UUID playerKingdomId) {
-        if (territory == null) {
+    private String getMapSymbol(int ownerHandle, int playerHandle) {
+        if (ownerHandle == KingdomHandles.NONE) {
             return "§8■"; // Unclaimed
         }
         
-        if (playerKingdomId == null) {
+        if (playerHandle == KingdomHandles.NONE) {
             return "§e■"; // Neutral for non-kingdom players
         }
         
-        UUID territoryOwnerId = territory.getKingdomId();
-        
-        // Own territory
-        if (territoryOwnerId.equals(playerKingdomId)) {
-            return "§a■";
-        }
-        
-        // Nation ally
-        if (plugin.getAllianceManager().areNationAllies(playerKingdomId, territoryOwnerId)) {
-            return "§b■";
-        }
-        
-        // Direct ally
-        if (plugin.getAllianceManager().areAllies(playerKingdomId, territoryOwnerId)) {
-            return "§9■";
-        }
-        
-        // Enemy
-        if (plugin.getAllianceManager().areEnemies(playerKingdomId, territoryOwnerId)) {
-            return "§c■";
+        return switch (plugin.getAllianceManager().getRelationship(playerHandle, ownerHandle)) {
+            case OWN -> "§a■";
+            case NATION -> "§b■";
+            case ALLY -> "§9■";
+            case ENEMY -> "§c■";
+            case NEUTRAL -> "§e■";
+        };
+    }
+    
+    /**
+     * Kingdom handle of a player, or NONE for players without a kingdom
+     */
+    private int getPlayerKingdomHandle(FeudalPlayer feudalPlayer) {
+        if (!feudalPlayer.hasKingdom()) {
+            return KingdomHandles.NONE;
         }
-        
-        // Neutral
-        return "§e■";
+        return plugin.getKingdomManager().getKingdomHandles().handleOf(feudalPlayer.getKingdom().getKingdomId());
     }
     
     /**
@@ -315,36 +294,28 @@ public class TerritoryVisualizationManager {
         stats.put("unclaimed", 0);
         
         FeudalPlayer feudalPlayer = plugin.getPlayerDataManager().getOrCreatePlayer(player);
-        UUID playerKingdomId = feudalPlayer.hasKingdom() ? feudalPlayer.getKingdom().getKingdomId() : null;
+        int playerHandle = getPlayerKingdomHandle(feudalPlayer);
         
         World world = player.getWorld();
-        
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                Chunk chunk = world.getChunkAt(centerChunk.getX() + x, centerChunk.getZ() + z);
-                Territory territory = plugin.getKingdomManager().getTerritoryAt(
-                    chunk.getBlock(8, 64, 8).getLocation());
-                
-                if (territory == null) {
-                    stats.put("unclaimed", stats.get("unclaimed") + 1);
-                } else if (playerKingdomId != null) {
-                    UUID territoryOwnerId = territory.getKingdomId();
-                    
-                    if (territoryOwnerId.equals(playerKingdomId)) {
-                        stats.put("own", stats.get("own") + 1);
-                    } else if (plugin.getAllianceManager().areNationAllies(playerKingdomId, territoryOwnerId) ||
-                               plugin.getAllianceManager().areAllies(playerKingdomId, territoryOwnerId)) {
-                        stats.put("ally", stats.get("ally") + 1);
-                    } else if (plugin.getAllianceManager().areEnemies(playerKingdomId, territoryOwnerId)) {
-                        stats.put("enemy", stats.get("enemy") + 1);
-                    } else {
-                        stats.put("neutral", stats.get("neutral") + 1);
-                    }
-                } else {
-                    stats.put("neutral", stats.get("neutral") + 1);
-                }
-            }
-        }
+        ClaimRegions regions = plugin.getKingdomManager().getClaimRegions(world);
+        int minX = centerChunk.getX() - radius;
+        int minZ = centerChunk.getZ() - radius;
+        int maxX = centerChunk.getX() + radius;
+        int maxZ = centerChunk.getZ() + radius;
+        
+        // Unclaimed chunks are counted from the bitmaps, only claimed chunks are classified
+        int side = 2 * radius + 1;
+        stats.put("unclaimed", side * side - regions.countClaimed(minX, minZ, maxX, maxZ));
+        
+        regions.forEachClaimed(minX, minZ, maxX, maxZ, (chunkX, chunkZ, ownerHandle) -> {
+            String key = switch (plugin.getAllianceManager().getRelationship(playerHandle, ownerHandle)) {
+                case OWN -> "own";
+                case NATION, ALLY -> "ally";
+                case ENEMY -> "enemy";
+                case NEUTRAL -> "neutral";
+            };
+            stats.merge(key, 1, Integer::sum);
+        });
         
         player.sendMessage("");
         plugin.getMessageManager().sendMessage(player, "map.statistics-header");
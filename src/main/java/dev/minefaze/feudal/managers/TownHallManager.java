@@ -2,7 +2,6 @@ package dev.minefaze.feudal.managers;
 
 import dev.minefaze.feudal.Feudal;
 import dev.minefaze.feudal.models.*;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -17,7 +16,7 @@ import java.util.*;
 public class TownHallManager {
     
     private final Feudal plugin;
-    private final Map<UUID, BukkitRunnable> upgradeTimers;
+    private final Map<UUID, DeadlineScheduler.Timer> upgradeTimers; // kingdomId -> pending upgrade completion
     
     public TownHallManager(Feudal plugin) {
         this.plugin = plugin;
@@ -28,32 +27,24 @@ public class TownHallManager {
     }
     
     /**
-     * Start periodic updates for town halls and nexuses
+     * Start periodic nexus updates; upgrade completion is scheduled per town hall instead
      */
     private void startPeriodicUpdates() {
         new BukkitRunnable() {
             @Override
             public void run() {
-                updateAllTownHalls();
+                updateAllNexuses();
             }
         }.runTaskTimer(plugin, 20L, 20L); // Run every second
     }
     
     /**
-     * Update all town halls and nexuses
+     * Process nexus regeneration for every kingdom
      */
-    private void updateAllTownHalls() {
+    private void updateAllNexuses() {
         for (Kingdom kingdom : plugin.getKingdomManager().getAllKingdoms()) {
-            TownHall townHall = kingdom.getTownHall();
             Nexus nexus = kingdom.getNexus();
             
-            if (townHall != null) {
-                // Check for completed upgrades
-                if (townHall.completeUpgradeIfReady()) {
-                    onTownHallUpgradeComplete(kingdom);
-                }
-            }
-            
             if (nexus != null) {
                 // Process nexus regeneration
                 nexus.startRegeneration();
@@ -91,6 +82,7 @@ public class TownHallManager {
         // Deduct cost and start upgrade
         kingdom.setTreasury(kingdom.getTreasury() - cost);
         townHall.startUpgrade();
+        scheduleUpgradeCompletion(kingdom);
         
         // Notify kingdom members
         notifyKingdomMembers(kingdom, "townhall.upgrade-started", townHall.getLevel() + 1);
@@ -101,6 +93,39 @@ public class TownHallManager {
         return true;
     }
     
+    /**
+     * Schedule completion for every town hall that was upgrading when the data was loaded
+     */
+    public void scheduleUpgradeCompletions() {
+        for (Kingdom kingdom : plugin.getKingdomManager().getAllKingdoms()) {
+            scheduleUpgradeCompletion(kingdom);
+        }
+    }
+    
+    /**
+     * Complete the kingdom's town hall upgrade when its time is up
+     */
+    private void scheduleUpgradeCompletion(Kingdom kingdom) {
+        UUID kingdomId = kingdom.getKingdomId();
+        DeadlineScheduler.Timer previous = upgradeTimers.remove(kingdomId);
+        if (previous != null) previous.cancel();
+        
+        TownHall townHall = kingdom.getTownHall();
+        if (townHall == null || !townHall.isUpgrading()) return;
+        
+        upgradeTimers.put(kingdomId, plugin.getDeadlineScheduler().scheduleMillis(townHall.getRemainingUpgradeMillis(), () -> {
+            upgradeTimers.remove(kingdomId);
+            // Skip kingdoms deleted or rebuilt while the upgrade was pending
+            if (plugin.getKingdomManager().getKingdom(kingdomId) != kingdom || kingdom.getTownHall() != townHall) return;
+            
+            if (townHall.completeUpgradeIfReady()) {
+                onTownHallUpgradeComplete(kingdom);
+            } else {
+                scheduleUpgradeCompletion(kingdom);
+            }
+        }));
+    }
+    
     /**
      * Handle town hall upgrade completion
      */
@@ -226,12 +251,7 @@ public class TownHallManager {
      * Notify all kingdom members of an event
      */
     private void notifyKingdomMembers(Kingdom kingdom, String messageKey, Object... args) {
-        for (UUID memberId : kingdom.getMembers()) {
-            Player member = Bukkit.getPlayer(memberId);
-            if (member != null && member.isOnline()) {
-                plugin.getMessageManager().sendMessage(member, messageKey, args);
-            }
-        }
+        plugin.getBroadcastManager().sendKingdomMessage(kingdom.getKingdomId(), messageKey, args);
     }
     
     /**
@@ -259,7 +279,7 @@ public class TownHallManager {
      */
     public void shutdown() {
         // Cancel all upgrade timers
-        for (BukkitRunnable timer : upgradeTimers.values()) {
+        for (DeadlineScheduler.Timer timer : upgradeTimers.values()) {
             timer.cancel();
         }
         upgradeTimers.clear();
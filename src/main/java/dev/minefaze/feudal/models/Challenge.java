@@ -29,6 +29,27 @@ public class Challenge {
         this.wager = 0;
     }
     
+    private Challenge(Challenge source) {
+        this.challengeId = source.challengeId;
+        this.challenger = source.challenger;
+        this.target = source.target;
+        this.type = source.type;
+        this.targetTerritory = source.targetTerritory;
+        this.creationTime = source.creationTime;
+        this.expirationTime = source.expirationTime;
+        this.status = source.status;
+        this.battleLocation = source.battleLocation != null ? source.battleLocation.clone() : null;
+        this.reason = source.reason;
+        this.wager = source.wager;
+    }
+    
+    /**
+     * Detached copy for saving on another thread; the target territory is shared, only its id is stored
+     */
+    public Challenge snapshot() {
+        return new Challenge(this);
+    }
+    
     // Getters and Setters
     public UUID getChallengeId() { return challengeId; }
     public UUID getChallenger() { return challenger; }
@@ -0,0 +1,106 @@
+package dev.minefaze.feudal.models;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.UUID;
+
+/**
+ * Immutable chunk coordinate (world UID + packed x/z) that never loads or holds a Chunk
+ */
+public final class ChunkKey {
+    
+    private final UUID worldId;
+    private final String worldName;
+    private final int x;
+    private final int z;
+    private final long packed;
+    
+    public ChunkKey(UUID worldId, String worldName, int x, int z) {
+        this.worldId = worldId;
+        this.worldName = worldName;
+        this.x = x;
+        this.z = z;
+        this.packed = pack(x, z);
+    }
+    
+    public static ChunkKey of(World world, int chunkX, int chunkZ) {
+        return new ChunkKey(world.getUID(), world.getName(), chunkX, chunkZ);
+    }
+    
+    public static ChunkKey of(Chunk chunk) {
+        return of(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+    
+    /**
+     * Key of the chunk containing a location, computed from block coordinates so the chunk is not loaded
+     */
+    public static ChunkKey of(Location location) {
+        return of(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+    
+    // Packing helpers: x in the low 32 bits, z in the high 32 bits
+    public static long pack(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((long) chunkZ << 32);
+    }
+    
+    public static int unpackX(long packed) { return (int) packed; }
+    public static int unpackZ(long packed) { return (int) (packed >> 32); }
+    
+    // Getters
+    public UUID getWorldId() { return worldId; }
+    public String getWorldName() { return worldName; }
+    public int getX() { return x; }
+    public int getZ() { return z; }
+    public long getPacked() { return packed; }
+    
+    /**
+     * Check whether a location lies in this chunk without allocating or loading anything
+     */
+    public boolean contains(Location location) {
+        World world = location.getWorld();
+        return world != null && world.getUID().equals(worldId)
+                && (location.getBlockX() >> 4) == x && (location.getBlockZ() >> 4) == z;
+    }
+    
+    public ChunkKey offset(int dx, int dz) {
+        return new ChunkKey(worldId, worldName, x + dx, z + dz);
+    }
+    
+    /** The world this chunk belongs to, or null if it is not loaded */
+    public World getWorld() {
+        return Bukkit.getWorld(worldId);
+    }
+    
+    public boolean isLoaded() {
+        World world = getWorld();
+        return world != null && world.isChunkLoaded(x, z);
+    }
+    
+    /**
+     * Resolve the Bukkit chunk. This loads the chunk if needed, so only call it when world access is required.
+     */
+    public Chunk getChunk() {
+        World world = getWorld();
+        return world != null ? world.getChunkAt(x, z) : null;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChunkKey other)) return false;
+        return packed == other.packed && worldId.equals(other.worldId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * worldId.hashCode() + Long.hashCode(packed);
+    }
+    
+    @Override
+    public String toString() {
+        return worldName + "(" + x + ", " + z + ")";
+    }
+}
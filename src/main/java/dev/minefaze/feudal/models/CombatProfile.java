@@ -0,0 +1,27 @@
+package dev.minefaze.feudal.models;
+
+/**
+ * Precomputed combat modifiers of a player, derived from their attributes and professions.
+ * Immutable; a new profile is built whenever those change.
+ */
+public final class CombatProfile {
+    
+    private final double attackMultiplier;
+    private final double defenseMultiplier;
+    private final double critChance;
+    
+    public CombatProfile(double attackMultiplier, double defenseMultiplier, double critChance) {
+        this.attackMultiplier = attackMultiplier;
+        this.defenseMultiplier = defenseMultiplier;
+        this.critChance = critChance;
+    }
+    
+    /** Multiplier on damage this player deals */
+    public double getAttackMultiplier() { return attackMultiplier; }
+    
+    /** Multiplier on damage this player takes */
+    public double getDefenseMultiplier() { return defenseMultiplier; }
+    
+    /** Chance in [0, 1] that a hit from this player is critical */
+    public double getCritChance() { return critChance; }
+}
@@ -1,74 +1,135 @@
 package dev.minefaze.feudal.models;
 
 import org.bukkit.entity.Player;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.UUID;
 
-public class FeudalPlayer {
+public class FeudalPlayer extends VersionedEntity {
     
     private final UUID playerId;
     private String playerName;
     private Kingdom kingdom;
-    private Map<Profession, Integer> professionLevels;
-    private Map<Attribute, Integer> attributes;
+    // Follows kingdom; set on its own by loads, which may run off the main thread and leave the Kingdom unresolved
+    private UUID kingdomId;
+    // Indexed by enum ordinal, so reads neither box nor hash
+    private final int[] professionLevels;
+    private final int[] professionExperience;
+    private final int[] attributes;
+    private final int[] stats;
     private int totalExperience;
     private boolean inCombat;
     private Challenge activeChallenge;
+    // Derived from attributes and professions, dropped whenever either changes
+    private CombatProfile combatProfile;
     
     public FeudalPlayer(UUID playerId, String playerName) {
         this.playerId = playerId;
         this.playerName = playerName;
-        this.professionLevels = new HashMap<>();
-        this.attributes = new HashMap<>();
+        this.professionLevels = new int[Profession.values().length];
+        this.professionExperience = new int[Profession.values().length];
+        this.attributes = new int[Attribute.values().length];
+        this.stats = new int[PlayerStat.values().length];
         this.totalExperience = 0;
         this.inCombat = false;
         
-        // Initialize default profession levels
-        for (Profession profession : Profession.values()) {
-            professionLevels.put(profession, 1);
-        }
-        
-        // Initialize default attributes
-        for (Attribute attribute : Attribute.values()) {
-            attributes.put(attribute, 10);
-        }
+        // Initialize default profession levels and attributes
+        Arrays.fill(professionLevels, 1);
+        Arrays.fill(attributes, 10);
+    }
+    
+    private FeudalPlayer(FeudalPlayer source) {
+        super(source);
+        this.playerId = source.playerId;
+        this.playerName = source.playerName;
+        this.kingdomId = source.kingdomId;
+        this.professionLevels = source.professionLevels.clone();
+        this.professionExperience = source.professionExperience.clone();
+        this.attributes = source.attributes.clone();
+        this.stats = source.stats.clone();
+        this.totalExperience = source.totalExperience;
+        this.inCombat = source.inCombat;
+    }
+    
+    /** Copy of the stored fields; the Kingdom and the active challenge are not carried over */
+    @Override
+    public FeudalPlayer snapshot() {
+        return new FeudalPlayer(this);
     }
     
     // Getters and Setters
     public UUID getPlayerId() { return playerId; }
     public String getPlayerName() { return playerName; }
-    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    public void setPlayerName(String playerName) { this.playerName = playerName; markDirty(); }
     
     public Kingdom getKingdom() { return kingdom; }
-    public void setKingdom(Kingdom kingdom) { this.kingdom = kingdom; }
+    public void setKingdom(Kingdom kingdom) {
+        this.kingdom = kingdom;
+        this.kingdomId = kingdom != null ? kingdom.getKingdomId() : null;
+        markDirty();
+    }
     
-    public Map<Profession, Integer> getProfessionLevels() { return professionLevels; }
+    /** Id of the player's kingdom, also on a loaded record whose Kingdom is not attached yet */
+    public UUID getKingdomId() { return kingdomId; }
+    
+    /**
+     * Stored kingdom id of a freshly loaded record; the Kingdom itself is attached on the main thread
+     */
+    public void setKingdomId(UUID kingdomId) { this.kingdomId = kingdomId; }
+    
+    /** Snapshot of all profession levels; use getProfessionLevel on hot paths */
+    public Map<Profession, Integer> getProfessionLevels() {
+        Map<Profession, Integer> levels = new EnumMap<>(Profession.class);
+        for (Profession profession : Profession.values()) {
+            levels.put(profession, professionLevels[profession.ordinal()]);
+        }
+        return levels;
+    }
     public int getProfessionLevel(Profession profession) { 
-        return professionLevels.getOrDefault(profession, 1); 
+        return professionLevels[profession.ordinal()]; 
     }
     public void setProfessionLevel(Profession profession, int level) { 
-        professionLevels.put(profession, level); 
+        professionLevels[profession.ordinal()] = level;
+        combatProfile = null;
+        markDirty();
     }
     
-    public Map<Attribute, Integer> getAttributes() { return attributes; }
+    /** Snapshot of all attributes; use getAttribute on hot paths */
+    public Map<Attribute, Integer> getAttributes() {
+        Map<Attribute, Integer> values = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            values.put(attribute, attributes[attribute.ordinal()]);
+        }
+        return values;
+    }
     public int getAttribute(Attribute attribute) { 
-        return attributes.getOrDefault(attribute, 10); 
+        return attributes[attribute.ordinal()]; 
     }
     public void setAttribute(Attribute attribute, int value) { 
-        attributes.put(attribute, value); 
+        attributes[attribute.ordinal()] = value;
+        combatProfile = null;
+        markDirty();
     }
     
+    public int getStat(PlayerStat stat) { return stats[stat.ordinal()]; }
+    public void setStat(PlayerStat stat, int value) { stats[stat.ordinal()] = value; markDirty(); }
+    public void addStat(PlayerStat stat, int amount) { stats[stat.ordinal()] += amount; markDirty(); }
+    
     public int getTotalExperience() { return totalExperience; }
-    public void setTotalExperience(int totalExperience) { this.totalExperience = totalExperience; }
-    public void addExperience(int experience) { this.totalExperience += experience; }
+    public void setTotalExperience(int totalExperience) { this.totalExperience = totalExperience; markDirty(); }
+    public void addExperience(int experience) { this.totalExperience += experience; markDirty(); }
     
     public boolean isInCombat() { return inCombat; }
-    public void setInCombat(boolean inCombat) { this.inCombat = inCombat; }
+    public void setInCombat(boolean inCombat) { this.inCombat = inCombat; markDirty(); }
     
     public Challenge getActiveChallenge() { return activeChallenge; }
     public void setActiveChallenge(Challenge activeChallenge) { this.activeChallenge = activeChallenge; }
     
+    /** Cached combat profile, or null if it has to be rebuilt */
+    public CombatProfile getCombatProfile() { return combatProfile; }
+    public void setCombatProfile(CombatProfile combatProfile) { this.combatProfile = combatProfile; }
+    
     // Utility methods
     public boolean hasKingdom() { return kingdom != null; }
     public boolean isKingdomLeader() { 
@@ -87,20 +148,41 @@ public class FeudalPlayer {
     
     // Additional methods for GUI system
     public int getTotalProfessionLevel() {
-        return professionLevels.values().stream().mapToInt(Integer::intValue).sum();
+        int total = 0;
+        for (int level : professionLevels) {
+            total += level;
+        }
+        return total;
     }
     
+    /** Experience earned in a single profession */
     public int getProfessionExperience(Profession profession) {
-        // For now, return a calculated value based on level
-        // This should be replaced with actual stored experience per profession
-        int level = getProfessionLevel(profession);
-        return level * 100; // Simple calculation for demo
+        return professionExperience[profession.ordinal()];
+    }
+    
+    public void setProfessionExperience(Profession profession, int experience) {
+        professionExperience[profession.ordinal()] = experience;
+        markDirty();
+    }
+    
+    /**
+     * Add experience to a profession's pool, saturating instead of overflowing
+     * @return the new pool size
+     */
+    public int addProfessionExperience(Profession profession, int experience) {
+        int index = profession.ordinal();
+        professionExperience[index] = (int) Math.min(Integer.MAX_VALUE, (long) professionExperience[index] + experience);
+        markDirty();
+        return professionExperience[index];
     }
     
     public int getAvailableAttributePoints() {
         // Calculate available points based on total level minus spent points
         int earnedPoints = getTotalProfessionLevel() / 5; // 1 point per 5 total levels
-        int spentPoints = attributes.values().stream().mapToInt(v -> v - 10).sum(); // Subtract base 10
+        int spentPoints = 0;
+        for (int value : attributes) {
+            spentPoints += value - 10; // Subtract base 10
+        }
         return Math.max(0, earnedPoints - spentPoints);
     }
 }
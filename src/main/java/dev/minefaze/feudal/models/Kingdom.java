@@ -5,9 +5,10 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-public class Kingdom {
+public class Kingdom extends VersionedEntity {
     
     public enum JoinType {
         OPEN("Open", "Anyone can join"),
@@ -27,10 +28,13 @@ public class Kingdom {
     }
     
     private final UUID kingdomId;
+    // Dense runtime handle assigned by KingdomManager, not persisted
+    private int handle = -1;
     private String name;
     private UUID leader;
     private Set<UUID> members;
-    private Set<Territory> territories;
+    private final Map<ChunkKey, Territory> territories;
+    private final int[] territoryTypeCounts;
     private Location capital;
     private int treasury;
     private long creationTime;
@@ -45,7 +49,8 @@ public class Kingdom {
         this.leader = leader;
         this.capital = capital;
         this.members = new HashSet<>();
-        this.territories = new HashSet<>();
+        this.territories = new ConcurrentHashMap<>();
+        this.territoryTypeCounts = new int[TerritoryType.values().length];
         this.treasury = 0;
         this.creationTime = System.currentTimeMillis();
         this.settings = new HashMap<>();
@@ -59,24 +64,50 @@ public class Kingdom {
             Territory capitalTerritory = new Territory(
                 UUID.randomUUID(),
                 this.kingdomId,
-                capital.getChunk(),
+                ChunkKey.of(capital),
                 TerritoryType.CAPITAL
             );
-            territories.add(capitalTerritory);
+            addTerritory(capitalTerritory);
         }
     }
     
+    private Kingdom(Kingdom source) {
+        super(source);
+        this.kingdomId = source.kingdomId;
+        this.handle = source.handle;
+        this.name = source.name;
+        this.leader = source.leader;
+        this.members = new HashSet<>(source.members);
+        this.territories = new ConcurrentHashMap<>();
+        this.territoryTypeCounts = new int[TerritoryType.values().length];
+        this.capital = source.capital != null ? source.capital.clone() : null;
+        this.treasury = source.treasury;
+        this.creationTime = source.creationTime;
+        this.settings = new HashMap<>(source.settings);
+        this.joinType = source.joinType;
+    }
+    
+    /**
+     * Copy of the kingdom row and member list. Territories, town hall and nexus are saved on their own and not copied.
+     */
+    @Override
+    public Kingdom snapshot() {
+        return new Kingdom(this);
+    }
+    
     // Getters and Setters
     public UUID getKingdomId() { return kingdomId; }
+    public int getHandle() { return handle; }
+    public void setHandle(int handle) { this.handle = handle; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name; markDirty(); }
     
     public UUID getLeader() { return leader; }
-    public void setLeader(UUID leader) { this.leader = leader; }
+    public void setLeader(UUID leader) { this.leader = leader; markDirty(); }
     
     public Set<UUID> getMembers() { return new HashSet<>(members); }
-    public void addMember(UUID playerId) { members.add(playerId); }
-    public void removeMember(UUID playerId) { members.remove(playerId); }
+    public void addMember(UUID playerId) { members.add(playerId); markDirty(); }
+    public void removeMember(UUID playerId) { members.remove(playerId); markDirty(); }
     public boolean isMember(UUID playerId) { return members.contains(playerId); }
     public int getMemberCount() { return members.size(); }
     
@@ -91,47 +122,77 @@ public class Kingdom {
                 .collect(Collectors.toList());
     }
     
-    public Set<Territory> getTerritories() { return new HashSet<>(territories); }
-    public void addTerritory(Territory territory) { territories.add(territory); }
-    public void removeTerritory(Territory territory) { territories.remove(territory); }
+    /** Read-only view of this kingdom's territories */
+    public Collection<Territory> getTerritories() { return Collections.unmodifiableCollection(territories.values()); }
     public int getTerritoryCount() { return territories.size(); }
+    public int getTerritoryCount(TerritoryType type) { return territoryTypeCounts[type.ordinal()]; }
+    
+    /**
+     * Add a territory, replacing any territory this kingdom already holds in the same chunk
+     */
+    public void addTerritory(Territory territory) {
+        Territory replaced = territories.put(territory.getChunkKey(), territory);
+        if (replaced != null) {
+            territoryTypeCounts[replaced.getType().ordinal()]--;
+        }
+        territoryTypeCounts[territory.getType().ordinal()]++;
+        markDirty();
+    }
+    
+    public void removeTerritory(Territory territory) {
+        if (territories.remove(territory.getChunkKey(), territory)) {
+            territoryTypeCounts[territory.getType().ordinal()]--;
+        }
+        markDirty();
+    }
     
     public Location getCapital() { return capital; }
-    public void setCapital(Location capital) { this.capital = capital; }
+    public void setCapital(Location capital) { this.capital = capital; markDirty(); }
     
     public int getTreasury() { return treasury; }
-    public void setTreasury(int treasury) { this.treasury = treasury; }
-    public void addToTreasury(int amount) { this.treasury += amount; }
+    public void setTreasury(int treasury) { this.treasury = treasury; markDirty(); }
+    public void addToTreasury(int amount) { this.treasury += amount; markDirty(); }
     public boolean removeFromTreasury(int amount) {
         if (treasury >= amount) {
             treasury -= amount;
+            markDirty();
             return true;
         }
         return false;
     }
     
     public long getCreationTime() { return creationTime; }
-    public Map<String, Object> getSettings() { return settings; }
+    // Read-only, so changes go through setSetting and mark the kingdom dirty
+    public Map<String, Object> getSettings() { return Collections.unmodifiableMap(settings); }
+    public void setSetting(String key, Object value) { settings.put(key, value); markDirty(); }
     
     public JoinType getJoinType() { return joinType; }
-    public void setJoinType(JoinType joinType) { this.joinType = joinType; }
+    public void setJoinType(JoinType joinType) { this.joinType = joinType; markDirty(); }
     
     // Utility methods
     public boolean isLeader(UUID playerId) { return leader.equals(playerId); }
     
+    public Territory getTerritoryAt(ChunkKey chunkKey) {
+        return territories.get(chunkKey);
+    }
+    
     public Territory getTerritoryAt(org.bukkit.Chunk chunk) {
-        return territories.stream()
-                .filter(t -> t.getChunk().equals(chunk))
-                .findFirst()
-                .orElse(null);
+        return getTerritoryAt(ChunkKey.of(chunk));
+    }
+    
+    public boolean ownsTerritory(ChunkKey chunkKey) {
+        return territories.containsKey(chunkKey);
     }
     
     public boolean ownsTerritory(org.bukkit.Chunk chunk) {
-        return getTerritoryAt(chunk) != null;
+        return ownsTerritory(ChunkKey.of(chunk));
     }
     
     public List<Territory> getTerritoriesByType(TerritoryType type) {
-        return territories.stream()
+        if (getTerritoryCount(type) == 0) {
+            return List.of();
+        }
+        return territories.values().stream()
                 .filter(t -> t.getType() == type)
                 .toList();
     }
@@ -158,6 +219,7 @@ public class Kingdom {
     public TownHall getTownHall() { return townHall; }
     public void setTownHall(TownHall townHall) { 
         this.townHall = townHall;
+        markDirty();
         // Update nexus when town hall changes
         if (nexus != null && townHall != null) {
             nexus.updateForTownHallLevel(townHall.getLevel());
@@ -165,7 +227,7 @@ public class Kingdom {
     }
     
     public Nexus getNexus() { return nexus; }
-    public void setNexus(Nexus nexus) { this.nexus = nexus; }
+    public void setNexus(Nexus nexus) { this.nexus = nexus; markDirty(); }
     
     /**
      * Initialize town hall and nexus for new kingdom
@@ -174,6 +236,7 @@ public class Kingdom {
         if (capital != null) {
             this.townHall = new TownHall(kingdomId, capital, type);
             this.nexus = new Nexus(kingdomId, 1);
+            markDirty();
         }
     }
     
@@ -6,7 +6,7 @@ import java.util.*;
 /**
  * Represents a kingdom's nexus - the core health and power system
  */
-public class Nexus {
+public class Nexus extends VersionedEntity {
     
     private UUID kingdomId;
     private int maxHealth;
@@ -33,36 +33,58 @@ public class Nexus {
         initializeDefenseStats(townHallLevel);
     }
     
+    private Nexus(Nexus source) {
+        super(source);
+        this.kingdomId = source.kingdomId;
+        this.maxHealth = source.maxHealth;
+        this.currentHealth = source.currentHealth;
+        this.shieldPoints = source.shieldPoints;
+        this.lastDamageTime = source.lastDamageTime;
+        this.isRegenerating = source.isRegenerating;
+        this.defenseStats = new HashMap<>(source.defenseStats);
+        this.activeEffects = new ArrayList<>(source.activeEffects);
+        this.status = source.status;
+        this.location = source.location != null ? source.location.clone() : null;
+    }
+    
+    @Override
+    public Nexus snapshot() {
+        return new Nexus(this);
+    }
+    
     // Getters and Setters
     public UUID getKingdomId() { return kingdomId; }
-    public void setKingdomId(UUID kingdomId) { this.kingdomId = kingdomId; }
+    public void setKingdomId(UUID kingdomId) { this.kingdomId = kingdomId; markDirty(); }
     
     public int getMaxHealth() { return maxHealth; }
-    public void setMaxHealth(int maxHealth) { this.maxHealth = maxHealth; }
+    public void setMaxHealth(int maxHealth) { this.maxHealth = maxHealth; markDirty(); }
     
     public int getCurrentHealth() { return currentHealth; }
     public void setCurrentHealth(int currentHealth) { 
         this.currentHealth = Math.max(0, Math.min(currentHealth, maxHealth));
         updateStatus();
+        markDirty();
     }
     
     public int getShieldPoints() { return shieldPoints; }
-    public void setShieldPoints(int shieldPoints) { this.shieldPoints = Math.max(0, shieldPoints); }
+    public void setShieldPoints(int shieldPoints) { this.shieldPoints = Math.max(0, shieldPoints); markDirty(); }
     
     public long getLastDamageTime() { return lastDamageTime; }
-    public void setLastDamageTime(long lastDamageTime) { this.lastDamageTime = lastDamageTime; }
+    public void setLastDamageTime(long lastDamageTime) { this.lastDamageTime = lastDamageTime; markDirty(); }
     
     public boolean isRegenerating() { return isRegenerating; }
-    public void setRegenerating(boolean regenerating) { isRegenerating = regenerating; }
+    public void setRegenerating(boolean regenerating) { isRegenerating = regenerating; markDirty(); }
     
-    public Map<String, Integer> getDefenseStats() { return defenseStats; }
-    public void setDefenseStats(Map<String, Integer> defenseStats) { this.defenseStats = defenseStats; }
+    // Collections are exposed read-only so every change goes through a method that marks the nexus dirty
+    public Map<String, Integer> getDefenseStats() { return Collections.unmodifiableMap(defenseStats); }
+    public void setDefenseStats(Map<String, Integer> defenseStats) { this.defenseStats = new HashMap<>(defenseStats); markDirty(); }
+    public void setDefenseStat(String stat, int value) { defenseStats.put(stat, value); markDirty(); }
     
-    public List<String> getActiveEffects() { return activeEffects; }
-    public void setActiveEffects(List<String> activeEffects) { this.activeEffects = activeEffects; }
+    public List<String> getActiveEffects() { return Collections.unmodifiableList(activeEffects); }
+    public void setActiveEffects(List<String> activeEffects) { this.activeEffects = new ArrayList<>(activeEffects); markDirty(); }
     
     public NexusStatus getStatus() { return status; }
-    public void setStatus(NexusStatus status) { this.status = status; }
+    public void setStatus(NexusStatus status) { this.status = status; markDirty(); }
     
     /**
      * Calculate max health based on town hall level
@@ -132,6 +154,7 @@ public class Nexus {
             isRegenerating = false;
             updateStatus();
         }
+        markDirty();
         
         return damage - actualDamage; // Return absorbed damage
     }
@@ -158,6 +181,7 @@ public class Nexus {
     public void heal(int amount) {
         currentHealth = Math.min(maxHealth, currentHealth + amount);
         updateStatus();
+        markDirty();
     }
     
     /**
@@ -166,6 +190,7 @@ public class Nexus {
     public void addShield(int amount) {
         int maxShield = defenseStats.getOrDefault("shield_capacity", 0);
         shieldPoints = Math.min(maxShield, shieldPoints + amount);
+        markDirty();
     }
     
     /**
@@ -175,6 +200,7 @@ public class Nexus {
         long timeSinceLastDamage = System.currentTimeMillis() - lastDamageTime;
         if (timeSinceLastDamage >= 300000 && currentHealth < maxHealth) { // 5 minutes
             isRegenerating = true;
+            markDirty();
         }
     }
     
@@ -232,11 +258,12 @@ public class Nexus {
         
         initializeDefenseStats(newLevel);
         updateStatus();
+        markDirty();
     }
     
     // Location methods
     public Location getLocation() { return location; }
-    public void setLocation(Location location) { this.location = location; }
+    public void setLocation(Location location) { this.location = location; markDirty(); }
     
     /**
      * Add temporary effect
@@ -244,6 +271,7 @@ public class Nexus {
     public void addEffect(String effect) {
         if (!activeEffects.contains(effect)) {
             activeEffects.add(effect);
+            markDirty();
         }
     }
     
@@ -251,7 +279,9 @@ public class Nexus {
      * Remove effect
      */
     public void removeEffect(String effect) {
-        activeEffects.remove(effect);
+        if (activeEffects.remove(effect)) {
+            markDirty();
+        }
     }
     
     /**
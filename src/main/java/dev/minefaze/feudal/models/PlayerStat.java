@@ -0,0 +1,17 @@
+package dev.minefaze.feudal.models;
+
+public enum PlayerStat {
+    BLOCKS_MINED("Blocks Mined"),
+    BLOCKS_FARMED("Crops Harvested"),
+    BLOCKS_PLACED("Blocks Placed"),
+    KILLS("Kills"),
+    DEATHS("Deaths");
+    
+    private final String displayName;
+    
+    PlayerStat(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() { return displayName; }
+}
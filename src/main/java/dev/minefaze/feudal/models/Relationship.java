@@ -0,0 +1,31 @@
+package dev.minefaze.feudal.models;
+
+/**
+ * Resolved diplomatic standing of one kingdom towards another.
+ * Nation membership takes precedence over direct alliances.
+ */
+public enum Relationship {
+    OWN("Your Kingdom"),
+    NATION("Nation Ally"),
+    ALLY("Ally"),
+    ENEMY("Enemy"),
+    NEUTRAL("Neutral");
+    
+    private final String displayName;
+    
+    Relationship(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() { return displayName; }
+    
+    /** Nation members and direct allies */
+    public boolean isAllied() {
+        return this == NATION || this == ALLY;
+    }
+    
+    /** Own kingdom, nation members and direct allies */
+    public boolean isFriendly() {
+        return this == OWN || isAllied();
+    }
+}
@@ -3,11 +3,11 @@ package dev.minefaze.feudal.models;
 import org.bukkit.Chunk;
 import java.util.UUID;
 
-public class Territory {
+public class Territory extends VersionedEntity {
     
     private final UUID territoryId;
     private final UUID kingdomId;
-    private final Chunk chunk;
+    private final ChunkKey chunkKey;
     private final TerritoryType type;
     private long claimTime;
     private int defenseLevel;
@@ -15,28 +15,56 @@ public class Territory {
     private Challenge activeChallenge;
     
     public Territory(UUID territoryId, UUID kingdomId, Chunk chunk, TerritoryType type) {
+        this(territoryId, kingdomId, ChunkKey.of(chunk), type);
+    }
+    
+    public Territory(UUID territoryId, UUID kingdomId, ChunkKey chunkKey, TerritoryType type) {
         this.territoryId = territoryId;
         this.kingdomId = kingdomId;
-        this.chunk = chunk;
+        this.chunkKey = chunkKey;
         this.type = type;
         this.claimTime = System.currentTimeMillis();
         this.defenseLevel = 1;
         this.underAttack = false;
     }
     
+    private Territory(Territory source) {
+        super(source);
+        this.territoryId = source.territoryId;
+        this.kingdomId = source.kingdomId;
+        this.chunkKey = source.chunkKey;
+        this.type = source.type;
+        this.claimTime = source.claimTime;
+        this.defenseLevel = source.defenseLevel;
+        this.underAttack = source.underAttack;
+    }
+    
+    /** Copy of the stored fields; the active challenge is not carried over */
+    @Override
+    public Territory snapshot() {
+        return new Territory(this);
+    }
+    
     // Getters and Setters
     public UUID getTerritoryId() { return territoryId; }
     public UUID getKingdomId() { return kingdomId; }
-    public Chunk getChunk() { return chunk; }
+    public ChunkKey getChunkKey() { return chunkKey; }
+    public int getChunkX() { return chunkKey.getX(); }
+    public int getChunkZ() { return chunkKey.getZ(); }
+    
+    /**
+     * Resolve the Bukkit chunk, loading it if necessary. Prefer getChunkKey() when world access is not needed.
+     */
+    public Chunk getChunk() { return chunkKey.getChunk(); }
     public TerritoryType getType() { return type; }
     public long getClaimTime() { return claimTime; }
-    public void setClaimTime(long claimTime) { this.claimTime = claimTime; }
+    public void setClaimTime(long claimTime) { this.claimTime = claimTime; markDirty(); }
     
     public int getDefenseLevel() { return defenseLevel; }
-    public void setDefenseLevel(int defenseLevel) { this.defenseLevel = defenseLevel; }
+    public void setDefenseLevel(int defenseLevel) { this.defenseLevel = defenseLevel; markDirty(); }
     
     public boolean isUnderAttack() { return underAttack; }
-    public void setUnderAttack(boolean underAttack) { this.underAttack = underAttack; }
+    public void setUnderAttack(boolean underAttack) { this.underAttack = underAttack; markDirty(); }
     
     public Challenge getActiveChallenge() { return activeChallenge; }
     public void setActiveChallenge(Challenge activeChallenge) { this.activeChallenge = activeChallenge; }
@@ -53,10 +81,10 @@ public class Territory {
     }
     
     public String getCoordinates() {
-        return String.format("(%d, %d)", chunk.getX(), chunk.getZ());
+        return String.format("(%d, %d)", chunkKey.getX(), chunkKey.getZ());
     }
     
     public String getWorldName() {
-        return chunk.getWorld().getName();
+        return chunkKey.getWorldName();
     }
 }
@@ -8,7 +8,7 @@ import java.util.*;
 /**
  * Represents a kingdom's town hall with levels and capabilities
  */
-public class TownHall {
+public class TownHall extends VersionedEntity {
     
     private UUID kingdomId;
     private Location location;
@@ -30,30 +30,49 @@ public class TownHall {
         this.customData = new HashMap<>();
     }
     
+    private TownHall(TownHall source) {
+        super(source);
+        this.kingdomId = source.kingdomId;
+        this.location = source.location != null ? source.location.clone() : null;
+        this.level = source.level;
+        this.type = source.type;
+        this.constructionTime = source.constructionTime;
+        this.isUpgrading = source.isUpgrading;
+        this.upgradeStartTime = source.upgradeStartTime;
+        this.customData = new HashMap<>(source.customData);
+    }
+    
+    @Override
+    public TownHall snapshot() {
+        return new TownHall(this);
+    }
+    
     // Getters and Setters
     public UUID getKingdomId() { return kingdomId; }
-    public void setKingdomId(UUID kingdomId) { this.kingdomId = kingdomId; }
+    public void setKingdomId(UUID kingdomId) { this.kingdomId = kingdomId; markDirty(); }
     
     public Location getLocation() { return location; }
-    public void setLocation(Location location) { this.location = location; }
+    public void setLocation(Location location) { this.location = location; markDirty(); }
     
     public int getLevel() { return level; }
-    public void setLevel(int level) { this.level = level; }
+    public void setLevel(int level) { this.level = level; markDirty(); }
     
     public TownHallType getType() { return type; }
-    public void setType(TownHallType type) { this.type = type; }
+    public void setType(TownHallType type) { this.type = type; markDirty(); }
     
     public long getConstructionTime() { return constructionTime; }
-    public void setConstructionTime(long constructionTime) { this.constructionTime = constructionTime; }
+    public void setConstructionTime(long constructionTime) { this.constructionTime = constructionTime; markDirty(); }
     
     public boolean isUpgrading() { return isUpgrading; }
-    public void setUpgrading(boolean upgrading) { isUpgrading = upgrading; }
+    public void setUpgrading(boolean upgrading) { isUpgrading = upgrading; markDirty(); }
     
     public long getUpgradeStartTime() { return upgradeStartTime; }
-    public void setUpgradeStartTime(long upgradeStartTime) { this.upgradeStartTime = upgradeStartTime; }
+    public void setUpgradeStartTime(long upgradeStartTime) { this.upgradeStartTime = upgradeStartTime; markDirty(); }
     
-    public Map<String, Object> getCustomData() { return customData; }
-    public void setCustomData(Map<String, Object> customData) { this.customData = customData; }
+    // Read-only, so changes go through the setters and mark the town hall dirty
+    public Map<String, Object> getCustomData() { return Collections.unmodifiableMap(customData); }
+    public void setCustomData(Map<String, Object> customData) { this.customData = new HashMap<>(customData); markDirty(); }
+    public void setCustomData(String key, Object value) { customData.put(key, value); markDirty(); }
     
     /**
      * Get the maximum number of territories this town hall level allows
@@ -181,6 +200,7 @@ public class TownHall {
         if (canUpgrade()) {
             this.isUpgrading = true;
             this.upgradeStartTime = System.currentTimeMillis();
+            markDirty();
         }
     }
     
@@ -195,6 +215,7 @@ public class TownHall {
             this.level++;
             this.isUpgrading = false;
             this.upgradeStartTime = 0;
+            markDirty();
             return true;
         }
         return false;
@@ -204,13 +225,18 @@ public class TownHall {
      * Get remaining upgrade time in seconds
      */
     public long getRemainingUpgradeTime() {
+        return getRemainingUpgradeMillis() / 1000;
+    }
+    
+    /**
+     * Get remaining upgrade time in milliseconds
+     */
+    public long getRemainingUpgradeMillis() {
         if (!isUpgrading) return 0;
         
         long upgradeTimeMs = getUpgradeTime() * 1000;
         long elapsed = System.currentTimeMillis() - upgradeStartTime;
-        long remaining = upgradeTimeMs - elapsed;
-        
-        return Math.max(0, remaining / 1000);
+        return Math.max(0, upgradeTimeMs - elapsed);
     }
     
     /**
@@ -0,0 +1,73 @@
+package dev.minefaze.feudal.models;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for persisted models that track changes made since their last successful save.
+ * Saves that run on another thread write a {@link #snapshot()} taken on the main thread, never the live entity.
+ */
+public abstract class VersionedEntity {
+    
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile long savedVersion;
+    // Set on snapshots: the live entity that saving the snapshot marks as saved
+    private final VersionedEntity source;
+    
+    protected VersionedEntity() {
+        this.source = null;
+    }
+    
+    /**
+     * Snapshot constructor; the copy carries the source's current version
+     */
+    protected VersionedEntity(VersionedEntity source) {
+        this.source = source;
+        this.version.set(source.getVersion());
+    }
+    
+    /**
+     * Detached copy of the persisted state, safe to read on a writer thread while the live entity changes.
+     * Marking the copy saved marks the live entity saved at the version the copy was taken at.
+     */
+    public abstract VersionedEntity snapshot();
+    
+    /**
+     * Record a change that needs to be written to storage
+     */
+    public void markDirty() { version.incrementAndGet(); }
+    
+    public long getVersion() { return version.get(); }
+    public long getSavedVersion() { return savedVersion; }
+    public boolean isDirty() { return version.get() != savedVersion; }
+    
+    /**
+     * Mark the given version as persisted; changes made after it was captured keep the entity dirty
+     */
+    public synchronized void markSaved(long version) {
+        if (source != null) {
+            source.markSaved(version);
+            return;
+        }
+        if (version > savedVersion) {
+            savedVersion = version;
+        }
+    }
+    
+    /**
+     * Mark the current state as matching storage (used after loading)
+     */
+    public void markClean() { markSaved(getVersion()); }
+    
+    /**
+     * Run the save action only if this entity has unsaved changes
+     * @return true if the entity was dirty and the save stored the captured version
+     */
+    public boolean saveIfDirty(Runnable save) {
+        if (!isDirty()) {
+            return false;
+        }
+        long captured = getVersion();
+        save.run();
+        return savedVersion >= captured;
+    }
+}